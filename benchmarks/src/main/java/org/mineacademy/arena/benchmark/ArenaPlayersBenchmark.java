@@ -0,0 +1,129 @@
+package org.mineacademy.arena.benchmark;
+
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.entity.Player;
+import org.mineacademy.arena.model.Arena;
+import org.mineacademy.arena.model.ArenaJoinMode;
+import org.mineacademy.arena.model.ArenaPlayer;
+import org.mineacademy.arena.model.ArenaState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Arena#getPlayers, Arena#getPlayersInAllModes and Arena#findPlayer, which run
+ * in most of our event handlers, in a played arena where every tenth player spectates.
+ *
+ * The arena is a mock calling the real methods, with its players set directly,
+ * so its constructor does not load settings. Arena players and Bukkit players are
+ * mocks that only stub, each call on them costs the same in every run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArenaPlayersBenchmark {
+
+	/**
+	 * How many players are in the arena
+	 */
+	@Param({ "2", "16", "64" })
+	private int players;
+
+	/**
+	 * The arena with the players
+	 */
+	private Arena arena;
+
+	/**
+	 * The last player joined, the worst case for a scan
+	 */
+	private Player lastPlayer;
+
+	/**
+	 * A player not in the arena
+	 */
+	private Player stranger;
+
+	@Setup
+	public void setup() {
+		BenchmarkServer.install();
+
+		final List<ArenaPlayer> arenaPlayers = new ArrayList<>();
+
+		arena = mock(Arena.class, withSettings().defaultAnswer(CALLS_REAL_METHODS).stubOnly());
+
+		BenchmarkServer.setField(Arena.class, arena, "name", "benchmark");
+		BenchmarkServer.setField(Arena.class, arena, "state", ArenaState.PLAYED);
+		BenchmarkServer.setField(Arena.class, arena, "players", arenaPlayers);
+
+		for (int i = 0; i < players; i++) {
+			final Player player = mockPlayer();
+			final ArenaPlayer cache = mock(ArenaPlayer.class, withSettings().stubOnly());
+			final UUID id = player.getUniqueId();
+
+			when(cache.getId()).thenReturn(id);
+			when(cache.getPlayer()).thenReturn(player);
+			when(cache.getMode()).thenReturn(i % 10 == 9 ? ArenaJoinMode.SPECTATING : ArenaJoinMode.PLAYING);
+			when(cache.hasArena()).thenReturn(true);
+			when(cache.getArena()).thenReturn(arena);
+
+			arenaPlayers.add(cache);
+			lastPlayer = player;
+		}
+
+		stranger = mockPlayer();
+	}
+
+	/*
+	 * Return an online player with a random unique id
+	 */
+	private Player mockPlayer() {
+		final Player player = mock(Player.class, withSettings().stubOnly());
+		final UUID id = UUID.randomUUID();
+
+		when(player.getUniqueId()).thenReturn(id);
+		when(player.isOnline()).thenReturn(true);
+
+		return player;
+	}
+
+	@Benchmark
+	public List<Player> getPlayersPlaying() {
+		return arena.getPlayers(ArenaJoinMode.PLAYING);
+	}
+
+	@Benchmark
+	public List<Player> getPlayersInAllModes() {
+		return arena.getPlayersInAllModes();
+	}
+
+	@Benchmark
+	public ArenaPlayer findLastPlayer() {
+		return arena.findPlayer(lastPlayer);
+	}
+
+	@Benchmark
+	public ArenaPlayer findStranger() {
+		return arena.findPlayer(stranger);
+	}
+}
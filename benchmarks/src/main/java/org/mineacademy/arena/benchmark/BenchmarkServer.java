@@ -0,0 +1,75 @@
+package org.mineacademy.arena.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.World;
+
+/**
+ * A mocked Bukkit server with one world, installed once for all benchmarks
+ * that reach Bukkit statics such as Bukkit#getWorld(String)
+ */
+final class BenchmarkServer {
+
+	/**
+	 * The name of the only world
+	 */
+	static final String WORLD_NAME = "arena_world";
+
+	/**
+	 * The only world, null until installed
+	 */
+	private static World world;
+
+	private BenchmarkServer() {
+	}
+
+	/**
+	 * Install the mocked server if not done yet and return its world
+	 *
+	 * @return
+	 */
+	static synchronized World install() {
+		if (world == null) {
+			final Server server = mock(Server.class);
+
+			world = mock(World.class);
+			when(world.getName()).thenReturn(WORLD_NAME);
+
+			when(server.getLogger()).thenReturn(Logger.getLogger("Benchmark"));
+			when(server.getName()).thenReturn("Benchmark");
+			when(server.getVersion()).thenReturn("benchmark");
+			when(server.getBukkitVersion()).thenReturn("benchmark");
+			when(server.getWorld(WORLD_NAME)).thenReturn(world);
+
+			Bukkit.setServer(server);
+		}
+
+		return world;
+	}
+
+	/**
+	 * Set a private field of an object we could not construct, such as an arena mock
+	 *
+	 * @param owner the class declaring the field
+	 * @param instance
+	 * @param name
+	 * @param value
+	 */
+	static void setField(final Class<?> owner, final Object instance, final String name, final Object value) {
+		try {
+			final Field field = owner.getDeclaredField(name);
+			field.setAccessible(true);
+
+			field.set(instance, value);
+
+		} catch (final ReflectiveOperationException ex) {
+			throw new IllegalStateException("Failed to set " + owner.getSimpleName() + "#" + name + ", was it renamed?", ex);
+		}
+	}
+}
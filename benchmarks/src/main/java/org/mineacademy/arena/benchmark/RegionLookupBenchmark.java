@@ -0,0 +1,123 @@
+package org.mineacademy.arena.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.mineacademy.arena.model.Arena;
+import org.mineacademy.arena.model.ArenaManager;
+import org.mineacademy.arena.model.ArenaRegionBounds;
+import org.mineacademy.arena.model.ArenaSettings;
+import org.mineacademy.fo.visual.VisualizedRegion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Finding the arena at a location with ArenaManager#findArena(Iterable, Location),
+ * which scans Foundation regions, compared with scanning the integer bounds escape
+ * detection uses. Arenas are laid out in a row, 200 blocks apart.
+ *
+ * Arenas and their settings are mocks that only stub, so each region scan also pays
+ * two cheap mock calls per arena. Compare region runs with each other, and with
+ * bounds only roughly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegionLookupBenchmark {
+
+	/**
+	 * How many arenas are loaded
+	 */
+	@Param({ "1", "10", "50", "200" })
+	private int arenas;
+
+	/**
+	 * All arenas, mocked to return their settings with a real region
+	 */
+	private final List<Arena> loadedArenas = new ArrayList<>();
+
+	/**
+	 * The bounds of all arenas
+	 */
+	private final List<ArenaRegionBounds> bounds = new ArrayList<>();
+
+	/**
+	 * A location in the last arena, the worst case for a scan
+	 */
+	private Location inLastArena;
+
+	/**
+	 * A location outside of all arenas, where most events happen
+	 */
+	private Location outside;
+
+	@Setup
+	public void setup() {
+		final World world = BenchmarkServer.install();
+
+		for (int i = 0; i < arenas; i++) {
+			final VisualizedRegion region = new VisualizedRegion(new Location(world, i * 200, 0, 0), new Location(world, i * 200 + 100, 128, 100));
+			final Arena arena = mock(Arena.class, withSettings().stubOnly());
+			final ArenaSettings settings = mock(ArenaSettings.class, withSettings().stubOnly());
+
+			when(arena.getSettings()).thenReturn(settings);
+			when(settings.getRegion()).thenReturn(region);
+
+			loadedArenas.add(arena);
+			bounds.add(ArenaRegionBounds.of(region));
+		}
+
+		inLastArena = new Location(world, (arenas - 1) * 200 + 50.5, 64, 50.5);
+		outside = new Location(world, -500.5, 64, -500.5);
+	}
+
+	@Benchmark
+	public Arena regionInArena() {
+		return ArenaManager.findArena(loadedArenas, inLastArena);
+	}
+
+	@Benchmark
+	public Arena regionOutside() {
+		return ArenaManager.findArena(loadedArenas, outside);
+	}
+
+	@Benchmark
+	public ArenaRegionBounds boundsInArena() {
+		return findBounds(inLastArena);
+	}
+
+	@Benchmark
+	public ArenaRegionBounds boundsOutside() {
+		return findBounds(outside);
+	}
+
+	/*
+	 * The loop of ArenaManager#findArena(Iterable, Location) over integer bounds
+	 */
+	private ArenaRegionBounds findBounds(final Location location) {
+		for (final ArenaRegionBounds bound : bounds)
+			if (bound.contains(location))
+				return bound;
+
+		return null;
+	}
+}
@@ -0,0 +1,102 @@
+package org.mineacademy.arena.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.mineacademy.arena.model.ArenaSettings;
+import org.mineacademy.arena.model.ArenaTeam;
+import org.mineacademy.arena.model.ArenaTeamPoints;
+import org.mineacademy.fo.collection.SerializedMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ArenaTeamPoints#findPoint and ArenaTeamPoints#hasPoint, behind team spawnpoints
+ * and capture the flag crystals.
+ *
+ * Points are real, added through ArenaTeamPoints#addPoint, while teams and the
+ * arena settings are mocks. Saving the settings after adding a point does nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeamPointsBenchmark {
+
+	/**
+	 * How many teams have a point
+	 */
+	@Param({ "2", "4", "8" })
+	private int teams;
+
+	/**
+	 * The points of all teams
+	 */
+	private ArenaTeamPoints points;
+
+	/**
+	 * The team added last
+	 */
+	private ArenaTeam lastTeam;
+
+	/**
+	 * A location at the point of the last team
+	 */
+	private Location atPoint;
+
+	/**
+	 * A location next to all points, where most blocks are broken
+	 */
+	private Location nearPoint;
+
+	@Setup
+	public void setup() {
+		final World world = BenchmarkServer.install();
+
+		points = new ArenaTeamPoints(mock(ArenaSettings.class), new SerializedMap());
+
+		for (int i = 0; i < teams; i++) {
+			final ArenaTeam team = mock(ArenaTeam.class, withSettings().stubOnly());
+			when(team.getName()).thenReturn("team" + i);
+
+			atPoint = new Location(world, i * 40, 64, 0);
+			points.addPoint(team, atPoint);
+
+			lastTeam = team;
+		}
+
+		atPoint = atPoint.clone().add(0.5, 0, 0.5);
+		nearPoint = atPoint.clone().add(1, 0, 0);
+	}
+
+	@Benchmark
+	public Location findPoint() {
+		return points.findPoint(lastTeam);
+	}
+
+	@Benchmark
+	public boolean hasPointAtPoint() {
+		return points.hasPoint(atPoint);
+	}
+
+	@Benchmark
+	public boolean hasPointNearPoint() {
+		return points.hasPoint(nearPoint);
+	}
+}
@@ -0,0 +1,49 @@
+package org.mineacademy.arena.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mineacademy.arena.perf.TimingHistogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * What /arena perf costs per timed handler call when enabled, alone on the
+ * main thread and when async chat threads record into the same histogram
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimingHistogramBenchmark {
+
+	/**
+	 * The histogram shared by all threads
+	 */
+	private final TimingHistogram histogram = new TimingHistogram("benchmark");
+
+	@Benchmark
+	public void recordMainThread() {
+		histogram.record(System.nanoTime() & 0xFFFFF);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void recordContended() {
+		histogram.record(System.nanoTime() & 0xFFFFF);
+	}
+
+	@Benchmark
+	public TimingHistogram.Snapshot snapshotFiveMinutes() {
+		return histogram.snapshot(5 * 60);
+	}
+}
@@ -2,12 +2,18 @@ package org.mineacademy.arena;
 
 import lombok.Getter;
 import org.mineacademy.arena.command.ArenaCommandGroup;
+import org.mineacademy.arena.journal.MatchJournal;
 import org.mineacademy.arena.model.*;
 import org.mineacademy.arena.model.dm.DeathmatchArena;
 import org.mineacademy.arena.model.eggwars.EggWarsArena;
 import org.mineacademy.arena.model.monster.MobArena;
 import org.mineacademy.arena.model.team.ctf.CaptureTheFlagArena;
 import org.mineacademy.arena.model.team.tdm.TeamDeathmatchArena;
+import org.mineacademy.arena.perf.ArenaLoadDriver;
+import org.mineacademy.arena.perf.ArenaLoadRecorder;
+import org.mineacademy.arena.perf.ArenaMetrics;
+import org.mineacademy.arena.perf.ArenaProfiler;
+import org.mineacademy.arena.perf.ArenaTimings;
 import org.mineacademy.arena.settings.Localization;
 import org.mineacademy.arena.settings.Settings;
 import org.mineacademy.arena.task.EscapeTask;
@@ -73,11 +79,20 @@ public final class ArenaPlugin extends SimplePlugin {
 		ArenaTeam.loadTeams();
 
 		ArenaReward.getInstance(); // Loads the file
+		ArenaLeaderboard.getInstance(); // Loads the file
 		ArenaPlayer.clearAllData();
 
-		registerEvents(new ArenaListener());
+		ArenaTimings.setEnabled(Settings.Timings.ENABLED);
+		ArenaTimings.registerEvents(new ArenaListener());
+		ArenaWorldListener.update();
 
-		Common.runTimer(20, new EscapeTask());
+		Common.runTimer(EscapeTask.PERIOD_TICKS, new EscapeTask());
+		Common.runTimer(20, ArenaProfiler::checkBudgets);
+
+		ArenaMetrics.start();
+		MatchJournal.start();
+
+		ArenaFileWatcher.start();
 	}
 
 	/**
@@ -85,7 +100,14 @@ public final class ArenaPlugin extends SimplePlugin {
 	 */
 	@Override
 	protected void onPluginStop() {
+		ArenaFileWatcher.stop();
+		ArenaLoadDriver.cancel();
+		ArenaLoadRecorder.stop();
+		ArenaMetrics.stop();
+		ArenaWorldListener.unregister();
 		ArenaManager.stopArenas(ArenaStopReason.PLUGIN);
+		ArenaSaveQueue.shutdown();
+		MatchJournal.stop();
 	}
 
 	/**
@@ -93,7 +115,12 @@ public final class ArenaPlugin extends SimplePlugin {
 	 */
 	@Override
 	protected void onPluginReload() {
+		ArenaFileWatcher.stop();
+		ArenaLoadDriver.cancel();
+		ArenaLoadRecorder.stop();
+		ArenaTimings.unregisterEvents();
 		ArenaManager.stopArenas(ArenaStopReason.RELOAD);
+		ArenaSaveQueue.flush();
 		ArenaManager.loadArenas(); // Uncomment this line if your arena world is loaded by a third party plugin such as Multiverse
 	}
 
@@ -1,6 +1,5 @@
 package org.mineacademy.arena.command;
 
-import org.bukkit.entity.Player;
 import org.mineacademy.arena.model.Arena;
 import org.mineacademy.arena.model.ArenaJoinMode;
 import org.mineacademy.arena.model.ArenaManager;
@@ -35,8 +34,7 @@ public class JoinCommand extends ArenaSubCommand {
 
 			// Testing command: use /arena join <arena> all to join all players to an arena
 			if (args.length == 2 && "all".equals(args[1])) {
-				for (final Player player : Remain.getOnlinePlayers())
-					arena.joinPlayer(player, ArenaJoinMode.PLAYING);
+				arena.joinPlayers(Remain.getOnlinePlayers(), ArenaJoinMode.PLAYING);
 
 				return;
 			}
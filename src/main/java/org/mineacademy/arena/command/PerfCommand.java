@@ -0,0 +1,267 @@
+package org.mineacademy.arena.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bukkit.entity.Player;
+import org.mineacademy.arena.journal.MatchJournal;
+import org.mineacademy.arena.model.Arena;
+import org.mineacademy.arena.model.ArenaManager;
+import org.mineacademy.arena.perf.ArenaLoadDriver;
+import org.mineacademy.arena.perf.ArenaLoadRecorder;
+import org.mineacademy.arena.perf.ArenaProfiler;
+import org.mineacademy.arena.perf.ArenaTimings;
+import org.mineacademy.arena.perf.TimingHistogram;
+import org.mineacademy.arena.settings.Settings;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.remain.Remain;
+
+/**
+ * The command to show how long our event handlers and arena callbacks take,
+ * how much time each arena costs, to record or drive load tests and to check the match journal
+ */
+public class PerfCommand extends ArenaSubCommand {
+
+	/**
+	 * How many of the most expensive handlers we list
+	 */
+	private static final int SHOWN_LINES = 15;
+
+	/**
+	 * How many seconds each phase of a driven load test takes at most, unless given
+	 */
+	private static final int DEFAULT_PHASE_SECONDS = 30;
+
+	protected PerfCommand() {
+		super("perf", 0, "[on|off|reset|arenas|journal|record <phase|stop>|drive <all|type|arena|stop> [seconds]]", "Show or toggle event handler timings, arena costs, load tests and the journal.");
+	}
+
+	@Override
+	protected void onCommand() {
+		final String param = args.length > 0 ? args[0].toLowerCase() : "";
+
+		if ("on".equals(param) || "off".equals(param)) {
+			ArenaTimings.setEnabled("on".equals(param));
+
+			tellSuccess("Timings are now " + (ArenaTimings.isEnabled() ? "enabled" : "disabled") + ".");
+			return;
+		}
+
+		if ("reset".equals(param)) {
+			ArenaTimings.reset();
+			ArenaProfiler.reset();
+
+			tellSuccess("Timings have been reset.");
+			return;
+		}
+
+		if ("record".equals(param)) {
+			checkBoolean(args.length > 1, "Usage: /{label} {sublabel} record <phase|stop>");
+
+			if ("stop".equalsIgnoreCase(args[1])) {
+				checkBoolean(ArenaLoadRecorder.isRecording(), "Load recording is not running.");
+
+				Common.tellNoPrefix(sender, ArenaLoadRecorder.stop().toArray(new String[0]));
+				return;
+			}
+
+			ArenaLoadRecorder.startPhase(args[1]);
+
+			tellSuccess("Recording load in phase '" + args[1] + "'. Start the next phase the same way, or stop with /{label} {sublabel} record stop.");
+			return;
+		}
+
+		if ("drive".equals(param)) {
+			drive();
+
+			return;
+		}
+
+		if ("arenas".equals(param)) {
+			showArenaCosts();
+
+			return;
+		}
+
+		if ("journal".equals(param)) {
+			tellInfo("Match journal is " + (MatchJournal.isRunning() ? "&arecording" : "&cdisabled in settings.yml") + "&7. Written: " + MatchJournal.getWritten()
+					+ ", waiting: " + MatchJournal.getPending() + ", dropped: " + MatchJournal.getDropped() + ".");
+
+			return;
+		}
+
+		checkBoolean(param.isEmpty(), "Usage: /{label} {sublabel} " + getUsage());
+
+		final List<Row> rows = new ArrayList<>();
+
+		for (final TimingHistogram histogram : ArenaTimings.getHistograms()) {
+			final Row row = new Row(histogram.getName(), histogram.snapshot(60), histogram.snapshot(5 * 60));
+
+			if (row.lastFiveMinutes.getCount() > 0)
+				rows.add(row);
+		}
+
+		if (rows.isEmpty()) {
+			tellInfo(ArenaTimings.isEnabled() ? "Nothing was recorded yet." : "Timings are disabled. Enable them with /{label} {sublabel} on");
+
+			return;
+		}
+
+		// Show the handlers costing the most time in total first
+		rows.sort((first, second) -> Long.compare(second.getCost(), first.getCost()));
+
+		final List<String> lines = new ArrayList<>();
+		lines.add("&8" + Common.chatLineSmooth());
+		lines.add("&6Timings &7(" + (ArenaTimings.isEnabled() ? "&aenabled" : "&cdisabled") + "&7) - 1m | 5m, rate per second, p50/p99/max in ms");
+
+		for (final Row row : rows.subList(0, Math.min(SHOWN_LINES, rows.size())))
+			lines.add("&f" + row.name + " &7" + format(row.lastMinute) + " &8| &7" + format(row.lastFiveMinutes));
+
+		if (rows.size() > SHOWN_LINES)
+			lines.add("&7... and " + Common.plural(rows.size() - SHOWN_LINES, "more handler"));
+
+		lines.add("&8" + Common.chatLineSmooth());
+
+		Common.tellNoPrefix(sender, lines.toArray(new String[lines.size()]));
+	}
+
+	/*
+	 * Play scripted matches with online bots not in an arena, or stop them
+	 */
+	private void drive() {
+		checkBoolean(Settings.LoadTest.ENABLED, "Load tests are disabled in settings.yml, only enable them on test servers.");
+		checkBoolean(args.length > 1, "Usage: /{label} {sublabel} drive <all|type|arena|stop> [seconds per phase]");
+
+		if ("stop".equalsIgnoreCase(args[1])) {
+			checkBoolean(ArenaLoadDriver.isRunning(), "No load test is running.");
+
+			Common.tellNoPrefix(sender, ArenaLoadDriver.cancel().toArray(new String[0]));
+			return;
+		}
+
+		checkBoolean(!ArenaLoadDriver.isRunning(), "A load test is already running, stop it with /{label} {sublabel} drive stop");
+		checkBoolean(!ArenaLoadRecorder.isRecording(), "Load is being recorded, stop it first with /{label} {sublabel} record stop");
+
+		final List<Arena> arenas = findArenasToDrive(args[1]);
+		checkBoolean(!arenas.isEmpty(), "There are no stopped arenas matching '" + args[1] + "' to run the load test in.");
+
+		final int phaseSeconds = args.length > 2 ? findNumber(2, 5, 600, "Seconds per phase must be between 5 and 600.") : DEFAULT_PHASE_SECONDS;
+		final List<Player> bots = new ArrayList<>();
+
+		for (final Player player : Remain.getOnlinePlayers())
+			if (ArenaLoadDriver.isBot(player) && ArenaManager.findArena(player) == null)
+				bots.add(player);
+
+		checkBoolean(!bots.isEmpty(), "There are no online bots named " + Settings.LoadTest.BOT_PREFIX + "* outside arenas to run the load test with.");
+
+		ArenaLoadDriver.start(sender, arenas, bots, phaseSeconds);
+
+		tellSuccess("Running a load test in " + Common.plural(ArenaLoadDriver.getArenaCount(), "arena") + " with " + Common.plural(ArenaLoadDriver.getBotCount(), "bot")
+				+ ", the report is sent when it finishes.");
+	}
+
+	/*
+	 * Return stopped arenas to drive, all of them, all of the given type or the given one
+	 */
+	private List<Arena> findArenasToDrive(final String param) {
+		final List<Arena> arenas = new ArrayList<>();
+		boolean isType = false;
+
+		for (final String type : ArenaManager.getArenaTypes())
+			if (type.equalsIgnoreCase(param))
+				isType = true;
+
+		if (!"all".equalsIgnoreCase(param) && !isType)
+			checkArenaLoaded(param);
+
+		for (final Arena arena : ArenaManager.getArenas())
+			if (arena.isStopped() && !arena.isRestoring())
+				if ("all".equalsIgnoreCase(param) || (isType ? arena.getType().equalsIgnoreCase(param) : arena.getName().equalsIgnoreCase(param)))
+					arenas.add(arena);
+
+		return arenas;
+	}
+
+	/*
+	 * Show how much time each arena took during the last minute
+	 */
+	private void showArenaCosts() {
+		checkBoolean(ArenaProfiler.isEnabled(), "The arena profiler is disabled in settings.yml.");
+
+		final List<ArenaProfiler.Report> reports = ArenaProfiler.getReports();
+
+		if (reports.isEmpty()) {
+			tellInfo("No arena took any measurable time during the last minute.");
+
+			return;
+		}
+
+		final List<String> lines = new ArrayList<>();
+		lines.add("&8" + Common.chatLineSmooth());
+		lines.add("&6Arena costs &7- last minute, ms per tick average / peak second");
+
+		for (final ArenaProfiler.Report report : reports)
+			lines.add("&f" + report.getArenaName() + " &7" + String.format("%.2f / %.2f", report.getAverageMillisPerTick(), report.getPeakMillisPerTick()) + " &8(" + report.getBreakdown() + ")");
+
+		lines.add("&8" + Common.chatLineSmooth());
+
+		Common.tellNoPrefix(sender, lines.toArray(new String[lines.size()]));
+	}
+
+	/*
+	 * Format the window into a short line
+	 */
+	private String format(final TimingHistogram.Snapshot snapshot) {
+		return String.format("%.1f/s %s/%s/%s", snapshot.getRate(), millis(snapshot.getP50()), millis(snapshot.getP99()), millis(snapshot.getMax()));
+	}
+
+	/*
+	 * Convert nanoseconds to a short milliseconds string
+	 */
+	private String millis(final long nanos) {
+		return String.format("%.2f", nanos / 1_000_000D);
+	}
+
+	@Override
+	protected List<String> tabComplete() {
+		if (args.length == 1)
+			return Settings.LoadTest.ENABLED ? completeLastWord("on", "off", "reset", "arenas", "journal", "record", "drive") : completeLastWord("on", "off", "reset", "arenas", "journal", "record");
+
+		if (args.length == 2 && "record".equalsIgnoreCase(args[0]))
+			return completeLastWord("join", "start", "fight", "leave", "stop");
+
+		if (args.length == 2 && "drive".equalsIgnoreCase(args[0]) && Settings.LoadTest.ENABLED) {
+			final List<String> options = new ArrayList<>(ArenaManager.getArenaNames());
+			options.addAll(ArenaManager.getArenaTypes());
+			options.add("all");
+			options.add("stop");
+
+			return completeLastWord(options);
+		}
+
+		return new ArrayList<>();
+	}
+
+	/*
+	 * One line in the report
+	 */
+	private static final class Row {
+
+		private final String name;
+		private final TimingHistogram.Snapshot lastMinute;
+		private final TimingHistogram.Snapshot lastFiveMinutes;
+
+		private Row(final String name, final TimingHistogram.Snapshot lastMinute, final TimingHistogram.Snapshot lastFiveMinutes) {
+			this.name = name;
+			this.lastMinute = lastMinute;
+			this.lastFiveMinutes = lastFiveMinutes;
+		}
+
+		/*
+		 * Roughly how much time the handler took in the last five minutes
+		 */
+		private long getCost() {
+			return lastFiveMinutes.getCount() * lastFiveMinutes.getP50();
+		}
+	}
+}
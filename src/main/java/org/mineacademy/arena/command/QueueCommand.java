@@ -0,0 +1,53 @@
+package org.mineacademy.arena.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mineacademy.arena.model.ArenaManager;
+import org.mineacademy.arena.model.ArenaMatchmaker;
+
+/**
+ * The command to queue for the best free arena of a type
+ */
+public class QueueCommand extends ArenaSubCommand {
+
+	protected QueueCommand() {
+		super("queue|q", 1, "<type|leave>", "Queue for the next free arena of a type.");
+	}
+
+	@Override
+	protected void onCommand() {
+		checkConsole();
+
+		if ("leave".equals(args[0])) {
+			checkBoolean(ArenaMatchmaker.dequeue(getPlayer()), "You are not queued for any arena.");
+
+			tellSuccess("You have left the queue.");
+			return;
+		}
+
+		final String type = args[0];
+
+		checkNotInArena();
+		checkBoolean(ArenaManager.hasArenaType(type), "Arena type " + type + " does not exist. Available: " + ArenaManager.getArenaTypes());
+		checkBoolean(!ArenaMatchmaker.isQueued(getPlayer()), "You are already queued for " + ArenaMatchmaker.findQueuedType(getPlayer()) + ". Type '/arena queue leave' to leave the queue.");
+
+		ArenaMatchmaker.queue(getPlayer(), type);
+
+		if (ArenaMatchmaker.isQueued(getPlayer()))
+			tellInfo("You are now queued for " + type + ". Players waiting: " + ArenaMatchmaker.getQueuedPlayers(type));
+	}
+
+	@Override
+	protected List<String> tabComplete() {
+
+		if (args.length == 1) {
+			final List<String> completions = new ArrayList<>(ArenaManager.getArenaTypes());
+			completions.add("leave");
+
+			return completeLastWord(completions);
+		}
+
+		return new ArrayList<>();
+	}
+}
@@ -0,0 +1,101 @@
+package org.mineacademy.arena.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mineacademy.arena.model.ArenaLeaderboard;
+import org.mineacademy.arena.model.ArenaManager;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.MathUtil;
+import org.mineacademy.fo.Valid;
+
+/**
+ * The command to show the best players by points, wins or mob arena waves
+ */
+public class TopCommand extends ArenaSubCommand {
+
+	/**
+	 * How many players we show on one page
+	 */
+	private static final int PAGE_SIZE = 10;
+
+	protected TopCommand() {
+		super("top", 0, "[points|wave|wins <type>] [page]", "Show the best players.");
+	}
+
+	@Override
+	protected void onCommand() {
+		final String param = args.length > 0 ? args[0].toLowerCase() : ArenaLeaderboard.POINTS;
+		final String metric;
+		final String title;
+		int pageIndex = 1;
+
+		if ("wins".equals(param)) {
+			checkBoolean(args.length > 1, "Usage: /{label} {sublabel} wins <type> [page]");
+			checkBoolean(ArenaManager.hasArenaType(args[1]), "Arena type " + args[1] + " does not exist. Available: " + ArenaManager.getArenaTypes());
+
+			metric = ArenaLeaderboard.wins(args[1]);
+			title = "wins in " + args[1];
+			pageIndex = 2;
+
+		} else if (ArenaLeaderboard.POINTS.equals(param) || ArenaLeaderboard.WAVE.equals(param)) {
+			metric = param;
+			title = ArenaLeaderboard.WAVE.equals(param) ? "highest mob arena wave" : "points";
+
+		} else {
+			checkBoolean(Valid.isInteger(param), "Usage: /{label} {sublabel} " + getUsage());
+
+			// Only the page was given
+			metric = ArenaLeaderboard.POINTS;
+			title = "points";
+			pageIndex = 0;
+		}
+
+		final String pageArg = args.length > pageIndex ? args[pageIndex] : "1";
+		checkBoolean(Valid.isInteger(pageArg), "The page must be a whole number, got " + pageArg);
+
+		final ArenaLeaderboard.Board board = ArenaLeaderboard.getInstance().getBoard(metric);
+
+		if (board == null || board.size() == 0) {
+			tellInfo("Nobody made it to the " + title + " leaderboard yet.");
+
+			return;
+		}
+
+		final int pages = (board.size() + PAGE_SIZE - 1) / PAGE_SIZE;
+		final int page = Integer.parseInt(pageArg);
+
+		checkBoolean(page >= 1 && page <= pages, "The page must be between 1 and " + pages + ".");
+
+		final List<String> lines = new ArrayList<>();
+		lines.add("&8" + Common.chatLineSmooth());
+		lines.add("&6Top players by " + title + " &7- page " + page + "/" + pages);
+
+		int rank = (page - 1) * PAGE_SIZE;
+
+		for (final ArenaLeaderboard.Entry entry : board.getPage(page, PAGE_SIZE))
+			lines.add("&7#" + ++rank + " &f" + entry.getName() + " &7- " + format(entry.getValue()));
+
+		lines.add("&8" + Common.chatLineSmooth());
+
+		Common.tellNoPrefix(sender, lines.toArray(new String[lines.size()]));
+	}
+
+	/*
+	 * Show whole numbers such as wins without decimals
+	 */
+	private String format(final double value) {
+		return value == Math.floor(value) ? String.valueOf((long) value) : MathUtil.formatTwoDigits(value);
+	}
+
+	@Override
+	protected List<String> tabComplete() {
+		if (args.length == 1)
+			return completeLastWord(ArenaLeaderboard.POINTS, ArenaLeaderboard.WAVE, "wins");
+
+		if (args.length == 2 && "wins".equalsIgnoreCase(args[0]))
+			return completeLastWord(new ArrayList<>(ArenaManager.getArenaTypes()));
+
+		return new ArrayList<>();
+	}
+}
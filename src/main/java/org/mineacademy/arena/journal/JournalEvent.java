@@ -0,0 +1,82 @@
+package org.mineacademy.arena.journal;
+
+import lombok.Getter;
+
+/**
+ * The kind of a match event stored in the journal.
+ *
+ * Each event is written with its {@link #getId()}, not its ordinal, so that
+ * old segments stay readable when new events are added. Never change an id.
+ */
+public enum JournalEvent {
+
+	/**
+	 * The arena started, detail is the arena type
+	 */
+	START(1),
+
+	/**
+	 * The arena stopped, detail is the {@link org.mineacademy.arena.model.ArenaStopReason}
+	 * and value the seconds played, 0 if the game did not start
+	 */
+	STOP(2),
+
+	/**
+	 * A player joined, detail is the {@link org.mineacademy.arena.model.ArenaJoinMode}
+	 */
+	JOIN(3),
+
+	/**
+	 * A player left, detail is the {@link org.mineacademy.arena.model.ArenaLeaveReason}
+	 */
+	LEAVE(4),
+
+	/**
+	 * A player killed a player or a mob, detail is the victim's name or entity type
+	 */
+	KILL(5),
+
+	/**
+	 * A player hit a team crystal, detail is the crystal's team and value the hits so far
+	 */
+	CRYSTAL_HIT(6),
+
+	/**
+	 * A mob arena entered a new wave, value is the wave
+	 */
+	WAVE(7),
+
+	/**
+	 * A player bought an item, detail is the item type and value the price
+	 */
+	PURCHASE(8),
+
+	/**
+	 * A player was rewarded when leaving, detail is the leave reason and value the points
+	 */
+	REWARD(9);
+
+	/**
+	 * The id written to the journal
+	 */
+	@Getter
+	private final byte id;
+
+	private JournalEvent(final int id) {
+		this.id = (byte) id;
+	}
+
+	/**
+	 * Return the event with the given id, or null if this version does not know it
+	 *
+	 * @param id
+	 * @return
+	 */
+	public static JournalEvent fromId(final byte id) {
+		for (final JournalEvent event : values())
+			if (event.id == id)
+				return event;
+
+		return null;
+	}
+}
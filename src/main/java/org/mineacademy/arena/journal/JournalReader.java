@@ -0,0 +1,205 @@
+package org.mineacademy.arena.journal;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Reads the journal segments written by {@link MatchJournal}. Does not need
+ * a running server, so you can print a segment from the command line with:
+ *
+ *   java -cp Arena.jar org.mineacademy.arena.journal.JournalReader plugins/Arena/journal/2026-10-19.bin
+ *
+ * A segment starts with the bytes "ARJ" and the format version. Each record follows
+ * as an unsigned short length and that many bytes holding the time in milliseconds (long),
+ * the event id (byte), the arena, player and detail (modified UTF-8, empty when not set)
+ * and the value (double). Readers ignore bytes past the fields they know, so that
+ * newer versions can append fields to records.
+ */
+@UtilityClass
+public class JournalReader {
+
+	/**
+	 * The bytes each segment starts with
+	 */
+	final byte[] MAGIC = { 'A', 'R', 'J' };
+
+	/**
+	 * The format version written after the magic
+	 */
+	final byte VERSION = 1;
+
+	/**
+	 * How many bytes the magic and version take
+	 */
+	final int HEADER_LENGTH = MAGIC.length + 1;
+
+	/**
+	 * Read all complete records in the segment. A record cut short at the end,
+	 * for example when the server crashed while writing it, is skipped.
+	 *
+	 * @param file
+	 * @param consumer
+	 * @throws IOException if the file cannot be read or is not a journal segment
+	 */
+	public void read(final File file, final Consumer<Entry> consumer) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			readHeader(in, file);
+
+			while (true) {
+				final byte[] body;
+
+				try {
+					body = new byte[in.readUnsignedShort()];
+					in.readFully(body);
+
+				} catch (final EOFException ex) {
+					return;
+				}
+
+				consumer.accept(parse(body));
+			}
+		}
+	}
+
+	/**
+	 * Return how many bytes at the start of the segment hold its header and complete
+	 * records, 0 if not even the header was written completely
+	 *
+	 * @param file
+	 * @return
+	 * @throws IOException if the file cannot be read or is not a journal segment
+	 */
+	long findValidLength(final File file) throws IOException {
+		if (file.length() < HEADER_LENGTH)
+			return 0;
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			readHeader(in, file);
+
+			final byte[] buffer = new byte[0xFFFF];
+			long valid = HEADER_LENGTH;
+
+			while (true) {
+				try {
+					final int length = in.readUnsignedShort();
+					in.readFully(buffer, 0, length);
+
+					valid += 2 + length;
+
+				} catch (final EOFException ex) {
+					return valid;
+				}
+			}
+		}
+	}
+
+	/*
+	 * Check the segment starts with our magic and a version we can read
+	 */
+	private void readHeader(final DataInputStream in, final File file) throws IOException {
+		final byte[] magic = new byte[MAGIC.length];
+
+		try {
+			in.readFully(magic);
+
+			final byte version = in.readByte();
+
+			if (!Arrays.equals(magic, MAGIC))
+				throw new IOException(file + " is not an arena journal segment");
+
+			if (version > VERSION)
+				throw new IOException(file + " was written by a newer version (" + version + "), please update");
+
+		} catch (final EOFException ex) {
+			throw new IOException(file + " is too short to be an arena journal segment");
+		}
+	}
+
+	/*
+	 * Read the fields of one record
+	 */
+	private Entry parse(final byte[] body) throws IOException {
+		final DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+
+		final long time = in.readLong();
+		final JournalEvent event = JournalEvent.fromId(in.readByte());
+		final String arena = in.readUTF();
+		final String player = in.readUTF();
+		final String detail = in.readUTF();
+		final double value = in.readDouble();
+
+		return new Entry(time, event, arena, player, detail, value);
+	}
+
+	/**
+	 * Print the given segments as tab separated lines
+	 *
+	 * @param args the segment files
+	 * @throws IOException
+	 */
+	public void main(final String[] args) throws IOException {
+		if (args.length == 0) {
+			System.err.println("Usage: java -cp Arena.jar " + JournalReader.class.getName() + " <segment.bin> [segment.bin ...]");
+
+			System.exit(1);
+		}
+
+		for (final String path : args)
+			read(new File(path), System.out::println);
+	}
+
+	/**
+	 * One event read from the journal
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	public final class Entry {
+
+		/**
+		 * When the event happened, in milliseconds since the epoch
+		 */
+		private final long time;
+
+		/**
+		 * The event, null if it was written by a newer version we do not know
+		 */
+		private final JournalEvent event;
+
+		/**
+		 * The arena name, empty if the event happened outside of arenas
+		 */
+		private final String arena;
+
+		/**
+		 * The player name, empty if the event has no player
+		 */
+		private final String player;
+
+		/**
+		 * What the detail means depends on the event, see {@link JournalEvent}
+		 */
+		private final String detail;
+
+		/**
+		 * What the value means depends on the event, see {@link JournalEvent}
+		 */
+		private final double value;
+
+		@Override
+		public String toString() {
+			return Instant.ofEpochMilli(time) + "\t" + (event != null ? event : "UNKNOWN") + "\t" + arena + "\t" + player + "\t" + detail + "\t" + value;
+		}
+	}
+}
@@ -0,0 +1,452 @@
+package org.mineacademy.arena.journal;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.mineacademy.arena.model.Arena;
+import org.mineacademy.arena.settings.Settings;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.plugin.SimplePlugin;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * An append-only journal of match events such as joins, kills and purchases,
+ * so that matches can be analysed later without slowing the game down.
+ *
+ * Events are recorded on the main thread into a ring buffer allocated upfront,
+ * without locks. A background thread drains the ring into one segment file
+ * per day in the journal folder, see {@link JournalReader} for the format.
+ * When the disk cannot keep up and the ring fills, new events are dropped
+ * and counted rather than making the main thread wait.
+ */
+@UtilityClass
+public class MatchJournal {
+
+	/**
+	 * How long the writer sleeps when there is nothing to write
+	 */
+	private final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	/**
+	 * How long the writer waits before trying again after the disk failed
+	 */
+	private final long FAILURE_PAUSE_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+	/**
+	 * How long we wait for the writer to save remaining events on shutdown
+	 */
+	private final long STOP_TIMEOUT_MILLIS = 5_000;
+
+	/**
+	 * Names longer than this are cut, keeping records small
+	 */
+	private final int MAX_STRING_LENGTH = 64;
+
+	/**
+	 * Events written since the plugin loaded
+	 */
+	private final AtomicLong written = new AtomicLong();
+
+	/**
+	 * Events lost since the plugin loaded, because the ring was full or the disk failed
+	 */
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * The ring events are recorded into, null when the journal is not running
+	 */
+	private Ring ring;
+
+	/**
+	 * The thread writing the ring to disk, null when the journal is not running
+	 */
+	private Thread writer;
+
+	/**
+	 * Start recording if enabled in settings, stopping the previous writer first
+	 */
+	public void start() {
+		stop();
+
+		if (!Settings.Journal.ENABLED)
+			return;
+
+		int capacity = 2;
+
+		while (capacity < Settings.Journal.BUFFER_SIZE)
+			capacity <<= 1;
+
+		ring = new Ring(capacity);
+
+		writer = new Thread(new Writer(ring), "Arena Journal");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Stop recording and wait a moment for the writer to save what is left
+	 */
+	public void stop() {
+		if (writer == null)
+			return;
+
+		final Thread stopped = writer;
+
+		ring.running = false;
+		ring = null;
+		writer = null;
+
+		LockSupport.unpark(stopped);
+
+		try {
+			stopped.join(STOP_TIMEOUT_MILLIS);
+
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+
+		if (stopped.isAlive())
+			Common.log("The match journal is still writing, some of the last events may be lost.");
+	}
+
+	/**
+	 * Record an event, does nothing when the journal is disabled. Call on the main thread only.
+	 *
+	 * @param event
+	 * @param arena the arena or null if the event happened outside arenas
+	 * @param player the player name or null
+	 * @param detail see {@link JournalEvent} for what to put here, or null
+	 */
+	public void record(final JournalEvent event, final Arena arena, final String player, final String detail) {
+		record(event, arena, player, detail, 0);
+	}
+
+	/**
+	 * Record an event with a value, does nothing when the journal is disabled. Call on the main thread only.
+	 *
+	 * @param event
+	 * @param arena the arena or null if the event happened outside arenas
+	 * @param player the player name or null
+	 * @param detail see {@link JournalEvent} for what to put here, or null
+	 * @param value see {@link JournalEvent} for what to put here
+	 */
+	public void record(final JournalEvent event, final Arena arena, final String player, final String detail, final double value) {
+		if (ring != null && !ring.offer(event, arena != null ? arena.getName() : null, player, detail, value))
+			dropped.incrementAndGet();
+	}
+
+	/**
+	 * Return how many events were written since the plugin loaded
+	 *
+	 * @return
+	 */
+	public long getWritten() {
+		return written.get();
+	}
+
+	/**
+	 * Return how many events were lost since the plugin loaded
+	 *
+	 * @return
+	 */
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	/**
+	 * Return how many events wait to be written
+	 *
+	 * @return
+	 */
+	public long getPending() {
+		final Ring ring = MatchJournal.ring;
+
+		return ring != null ? ring.tail.get() - ring.head.get() : 0;
+	}
+
+	/**
+	 * Return true if the journal is recording
+	 *
+	 * @return
+	 */
+	public boolean isRunning() {
+		return ring != null;
+	}
+
+	/**
+	 * Return the folder with the segment files
+	 *
+	 * @return
+	 */
+	public File getFolder() {
+		return new File(SimplePlugin.getData(), "journal");
+	}
+
+	/*
+	 * A ring of event slots for one writer thread and the main thread. The main thread
+	 * only moves the tail and the writer only moves the head, publishing slots with
+	 * ordered writes, so neither of them locks.
+	 */
+	private final class Ring {
+
+		private final int mask;
+
+		private final long[] times;
+		private final byte[] events;
+		private final String[] arenas;
+		private final String[] players;
+		private final String[] details;
+		private final double[] values;
+
+		/**
+		 * The next slot the writer reads
+		 */
+		private final AtomicLong head = new AtomicLong();
+
+		/**
+		 * The next slot the main thread fills
+		 */
+		private final AtomicLong tail = new AtomicLong();
+
+		/**
+		 * False once the writer should save what is left and quit
+		 */
+		private volatile boolean running = true;
+
+		private Ring(final int capacity) {
+			this.mask = capacity - 1;
+
+			this.times = new long[capacity];
+			this.events = new byte[capacity];
+			this.arenas = new String[capacity];
+			this.players = new String[capacity];
+			this.details = new String[capacity];
+			this.values = new double[capacity];
+		}
+
+		/*
+		 * Fill the next slot, returning false if the writer is too far behind
+		 */
+		private boolean offer(final JournalEvent event, final String arena, final String player, final String detail, final double value) {
+			final long slot = tail.get();
+
+			if (slot - head.get() > mask)
+				return false;
+
+			final int index = (int) (slot & mask);
+
+			times[index] = System.currentTimeMillis();
+			events[index] = event.getId();
+			arenas[index] = arena;
+			players[index] = player;
+			details[index] = detail;
+			values[index] = value;
+
+			tail.lazySet(slot + 1);
+			return true;
+		}
+	}
+
+	/*
+	 * Drains the ring into the segment of the day each event happened on
+	 */
+	private final class Writer implements Runnable {
+
+		private final Ring ring;
+
+		/**
+		 * The record being encoded, so that we can write its length first
+		 */
+		private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(256);
+		private final DataOutputStream record = new DataOutputStream(recordBytes);
+
+		/**
+		 * The open segment, null if none
+		 */
+		private DataOutputStream segment;
+
+		/**
+		 * The milliseconds the day of the open segment starts and ends at
+		 */
+		private long dayStart = 0;
+		private long dayEnd = 0;
+
+		/**
+		 * True after a failure until we write successfully again, so we only log once
+		 */
+		private boolean failing = false;
+
+		private Writer(final Ring ring) {
+			this.ring = ring;
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				// Read before draining so that everything recorded before stop is saved
+				final boolean stopping = !ring.running;
+
+				if (drain() == 0) {
+					if (stopping)
+						break;
+
+					flush();
+					LockSupport.parkNanos(IDLE_NANOS);
+				}
+			}
+
+			flush();
+			close();
+		}
+
+		/*
+		 * Write all filled slots, returning how many there were
+		 */
+		private int drain() {
+			final long end = ring.tail.get();
+			long slot = ring.head.get();
+			int drained = 0;
+
+			while (slot < end) {
+				final int index = (int) (slot & ring.mask);
+
+				try {
+					write(index);
+
+					written.incrementAndGet();
+					failing = false;
+
+				} catch (final IOException ex) {
+					dropped.incrementAndGet();
+
+					fail(ex);
+				}
+
+				// Let go of the names so that they can be collected
+				ring.arenas[index] = null;
+				ring.players[index] = null;
+				ring.details[index] = null;
+
+				ring.head.lazySet(++slot);
+				drained++;
+			}
+
+			return drained;
+		}
+
+		/*
+		 * Encode the slot and append it to its segment
+		 */
+		private void write(final int index) throws IOException {
+			final long time = ring.times[index];
+
+			if (segment == null || time < dayStart || time >= dayEnd)
+				openSegment(time);
+
+			recordBytes.reset();
+
+			record.writeLong(time);
+			record.writeByte(ring.events[index]);
+			writeString(ring.arenas[index]);
+			writeString(ring.players[index]);
+			writeString(ring.details[index]);
+			record.writeDouble(ring.values[index]);
+
+			segment.writeShort(recordBytes.size());
+			recordBytes.writeTo(segment);
+		}
+
+		/*
+		 * Write the string, empty if null
+		 */
+		private void writeString(final String value) throws IOException {
+			record.writeUTF(value == null ? "" : value.length() > MAX_STRING_LENGTH ? value.substring(0, MAX_STRING_LENGTH) : value);
+		}
+
+		/*
+		 * Close the open segment and open the one for the day of the given time,
+		 * cutting off a record left incomplete by a crash so that we append after it cleanly
+		 */
+		private void openSegment(final long time) throws IOException {
+			close();
+
+			final ZoneId zone = ZoneId.systemDefault();
+			final LocalDate day = Instant.ofEpochMilli(time).atZone(zone).toLocalDate();
+			final File file = new File(getFolder(), day + ".bin");
+
+			file.getParentFile().mkdirs();
+
+			final long validLength = file.exists() ? JournalReader.findValidLength(file) : 0;
+			final FileOutputStream stream = new FileOutputStream(file, true);
+
+			if (validLength < file.length())
+				stream.getChannel().truncate(validLength);
+
+			segment = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024));
+
+			if (validLength == 0) {
+				segment.write(JournalReader.MAGIC);
+				segment.writeByte(JournalReader.VERSION);
+			}
+
+			dayStart = day.atStartOfDay(zone).toInstant().toEpochMilli();
+			dayEnd = day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+		}
+
+		/*
+		 * Push buffered records to disk
+		 */
+		private void flush() {
+			if (segment != null)
+				try {
+					segment.flush();
+
+				} catch (final IOException ex) {
+					fail(ex);
+				}
+		}
+
+		/*
+		 * Close the segment quietly
+		 */
+		private void close() {
+			if (segment != null) {
+				try {
+					segment.close();
+
+				} catch (final IOException ex) {
+					// Reopened on the next event
+				}
+
+				segment = null;
+			}
+		}
+
+		/*
+		 * Log the first failure in a row, close the segment and give the disk a pause.
+		 * Events recorded meanwhile are dropped once the ring is full.
+		 */
+		private void fail(final IOException ex) {
+			if (!failing)
+				Common.error(ex, "Failed to write the match journal to " + getFolder() + ", dropping events until it works again");
+
+			failing = true;
+
+			close();
+
+			if (ring.running)
+				LockSupport.parkNanos(FAILURE_PAUSE_NANOS);
+		}
+	}
+}
@@ -8,6 +8,8 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
+import org.mineacademy.arena.journal.JournalEvent;
+import org.mineacademy.arena.journal.MatchJournal;
 import org.mineacademy.arena.model.eggwars.EggWarsArena;
 import org.mineacademy.arena.model.eggwars.EggWarsSettings.ItemCurrency;
 import org.mineacademy.arena.model.eggwars.EggWarsSettings.ShopItem;
@@ -111,6 +113,8 @@ public class EggWarsVillagerMenu extends Menu {
 			PlayerUtil.take(player, material, price);
 			PlayerUtil.addItems(player.getInventory(), item.getItem());
 
+			MatchJournal.record(JournalEvent.PURCHASE, arena, player.getName(), item.getItem().getType().name(), price);
+
 			restartMenu("&2Purchase made!");
 		}
 	}
@@ -6,6 +6,8 @@ import java.util.Map.Entry;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.ItemStack;
+import org.mineacademy.arena.journal.JournalEvent;
+import org.mineacademy.arena.journal.MatchJournal;
 import org.mineacademy.arena.model.ArenaPlayer;
 import org.mineacademy.arena.model.ArenaReward;
 import org.mineacademy.arena.model.ArenaReward.ArenaRewardItem;
@@ -251,6 +253,7 @@ public class RewardMenu extends Menu {
 				}
 
 				cache.setTotalPoints(points - price);
+				MatchJournal.record(JournalEvent.PURCHASE, null, player.getName(), item.getItem().getType().name(), price);
 
 				// Add items to the player inventory
 				final Map<Integer, ItemStack> leftovers = PlayerUtil.addItems(player.getInventory(), item.getItem());
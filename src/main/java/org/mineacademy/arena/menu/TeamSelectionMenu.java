@@ -121,7 +121,7 @@ public class TeamSelectionMenu extends MenuPagged<ArenaTeam> {
 		lores.add("");
 
 		if (viewMode == ViewMode.SELECT) {
-			lores.add(Common.plural(arena.getTeamPlayers(team).size(), "player"));
+			lores.add(Common.plural(arena.getTeamSize(team), "player"));
 			lores.add("");
 		}
 
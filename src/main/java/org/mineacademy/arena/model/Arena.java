@@ -19,9 +19,13 @@ import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.inventory.PlayerInventory;
 import org.bukkit.metadata.MetadataValue;
+import org.mineacademy.arena.journal.JournalEvent;
+import org.mineacademy.arena.journal.MatchJournal;
 import org.mineacademy.arena.menu.ClassSelectionMenu;
 import org.mineacademy.arena.menu.TeamSelectionMenu;
 import org.mineacademy.arena.model.team.TeamArena;
+import org.mineacademy.arena.perf.ArenaMetrics;
+import org.mineacademy.arena.perf.ArenaProfiler;
 import org.mineacademy.arena.settings.Settings;
 import org.mineacademy.arena.tool.ArenaTool;
 import org.mineacademy.arena.tool.ToolSpectatePlayers;
@@ -40,8 +44,12 @@ import org.mineacademy.fo.remain.CompMetadata;
 import org.mineacademy.fo.remain.Remain;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.function.Consumer;
 
 public abstract class Arena {
@@ -85,6 +93,61 @@ public abstract class Arena {
 	@Getter
 	private final ArenaScoreboard scoreboard;
 
+	/**
+	 * Spreads teleporting players and giving them kits across several ticks on start
+	 */
+	private final ArenaBatchQueue startQueue;
+
+	/**
+	 * Spreads joining many players at once across several ticks
+	 */
+	private final ArenaBatchQueue joinQueue;
+
+	/**
+	 * Hides spectators from other players in this arena
+	 */
+	private final ArenaVisibility visibility;
+
+	/**
+	 * Who is in this arena, replaced on each change so that async chat can read it safely
+	 */
+	private volatile ArenaMembership membership;
+
+	/**
+	 * The region bounds players may not leave, resolved when the arena starts
+	 */
+	private ArenaRegionBounds regionBounds;
+
+	/**
+	 * When the lobby opened, 0 if it is not open
+	 */
+	private long lobbyStartMillis = 0;
+
+	/**
+	 * When the game started, 0 if it is not played
+	 */
+	private long gameStartMillis = 0;
+
+	/**
+	 * Private flag indicating whether we are joining players in bulk right now
+	 */
+	private boolean bulkJoining = false;
+
+	/**
+	 * Names of players joined in bulk during the current batch, announced together
+	 */
+	private final List<String> bulkJoinedNames = new ArrayList<>();
+
+	/**
+	 * Players joined in bulk who yet have to see the team or class selection menu
+	 */
+	private final List<Player> pendingMenus = new ArrayList<>();
+
+	/**
+	 * Start tasks of players who were dead when their turn came, run when they respawn
+	 */
+	private final Map<UUID, List<Consumer<Player>>> pendingRespawns = new HashMap<>();
+
 	/**
 	 * The mode this arena is currently in
 	 */
@@ -95,6 +158,11 @@ public abstract class Arena {
 	 */
 	private boolean stopping = false;
 
+	/**
+	 * Private flag indicating whether the lobby countdown has been launched
+	 */
+	private boolean countdownLaunched = false;
+
 	/**
 	 * Private flag indicating whether the arena is starting right now
 	 */
@@ -124,6 +192,12 @@ public abstract class Arena {
 		this.startCountdown = new ArenaCountdownStart(this);
 		this.heartbeat = createHeartbeat();
 		this.scoreboard = createScoreboard();
+		this.startQueue = new ArenaBatchQueue(Settings.Start.TICK_BUDGET);
+		this.joinQueue = new ArenaBatchQueue(Settings.Join.TICK_BUDGET);
+		this.visibility = new ArenaVisibility(this);
+		this.membership = ArenaMembership.empty(this);
+
+		this.joinQueue.setBatchEnd(this::onJoinBatchEnd);
 
 		this.settings.setArenaType(type);
 	}
@@ -198,6 +272,9 @@ public abstract class Arena {
 
 		players.add(cache);
 		cache.markArenaJoin(player, this, joinMode);
+		visibility.onJoin();
+
+		MatchJournal.record(JournalEvent.JOIN, this, player.getName(), joinMode.name());
 
 		if (joinMode != ArenaJoinMode.EDITING)
 			teleport(player, settings.getLobbyLocation());
@@ -213,14 +290,75 @@ public abstract class Arena {
 				onEditStart();
 			} else {
 				state = ArenaState.LOBBY;
+				lobbyStartMillis = System.currentTimeMillis();
 
 				onLobbyStart();
 			}
 
+		updateMembership();
+
+		// Start the countdown as soon as enough players joined
+		if (state == ArenaState.LOBBY && !countdownLaunched && getPlayers(ArenaJoinMode.PLAYING).size() >= settings.getMinPlayers()) {
+			countdownLaunched = true;
+
+			startCountdown.launch();
+		}
+
 		checkIntegrity();
 		return true;
 	}
 
+	/**
+	 * Joins all given players in the arena in the given mode
+	 * <p>
+	 * Players are joined in batches over several ticks, their join messages are
+	 * announced together for each batch and selection menus are opened after
+	 *
+	 * @param players
+	 * @param joinMode
+	 */
+	public final void joinPlayers(final Collection<? extends Player> players, final ArenaJoinMode joinMode) {
+		for (final Player player : new ArrayList<>(players))
+			joinQueue.add(() -> {
+				if (!player.isOnline())
+					return;
+
+				bulkJoining = true;
+
+				try {
+					joinPlayer(player, joinMode);
+
+				} finally {
+					bulkJoining = false;
+				}
+			});
+
+		if (!joinQueue.isRunning())
+			joinQueue.launch(null);
+	}
+
+	/*
+	 * Announce players joined in the last batch and queue opening their menus
+	 */
+	private void onJoinBatchEnd() {
+		if (!bulkJoinedNames.isEmpty()) {
+			final String joined = bulkJoinedNames.size() > 3 ? Common.plural(bulkJoinedNames.size(), "player") : String.join(", ", bulkJoinedNames);
+
+			broadcast("&8[&2+&8] &7" + joined + " joined the arena! (" + players.size() + "/" + settings.getMaxPlayers() + ")");
+			bulkJoinedNames.clear();
+		}
+
+		for (final Player player : pendingMenus)
+			joinQueue.add(() -> {
+				final ArenaPlayer cache = ArenaPlayer.getCache(player);
+
+				if (state == ArenaState.LOBBY && player.isOnline() && cache.hasArena() && cache.getArena().equals(this) && cache.getMode() == ArenaJoinMode.PLAYING)
+					openSelectionMenu(player);
+			});
+
+		pendingMenus.clear();
+	}
+
 	/**
 	 * Check if the player is eligible for joining this arena
 	 *
@@ -273,9 +411,7 @@ public abstract class Arena {
 			return false;
 		}
 
-		final Region region = settings.getRegion();
-
-		if (region != null && region.isWhole() && ArenaWorldManager.isWorldBeingProcessed(region.getWorld())) {
+		if (isRestoring()) {
 			Messenger.error(player, "Arena " + getName() + " is being restored right now!");
 
 			return false;
@@ -294,20 +430,23 @@ public abstract class Arena {
 
 		if (joinMode != ArenaJoinMode.EDITING) {
 			if (joinMode == ArenaJoinMode.PLAYING) {
-				Messenger.success(player, "Welcome to " + getName() + "! Arena starts in " + startCountdown.getTimeLeft() + " seconds!");
-
-				// Tell others that the player joined
-				broadcast("&8[&2+&8] &7" + player.getName() + " joined the arena! (" + (players.size() + 1) + "/" + settings.getMaxPlayers() + ")");
+				final int missingPlayers = settings.getMinPlayers() - getPlayers(ArenaJoinMode.PLAYING).size() - 1;
 
-				// Open team menu if any
-				if (hasTeams() && !ArenaTeam.getTeams().isEmpty()) {
-					Valid.checkBoolean(this instanceof TeamArena, "Only TeamArena has support for teams! Remove hasTeams() from " + getClass() + " now");
+				if (countdownLaunched || missingPlayers <= 0)
+					Messenger.success(player, "Welcome to " + getName() + "! Arena starts in " + startCountdown.getTimeLeft() + " seconds!");
+				else
+					Messenger.success(player, "Welcome to " + getName() + "! Arena starts when " + Common.plural(missingPlayers, "more player") + " join.");
 
-					TeamSelectionMenu.openSelectMenu(player, (TeamArena) this);
+				// Tell others that the player joined, or announce him later with others when joining in bulk
+				if (bulkJoining)
+					bulkJoinedNames.add(player.getName());
+				else
+					broadcast("&8[&2+&8] &7" + player.getName() + " joined the arena! (" + (players.size() + 1) + "/" + settings.getMaxPlayers() + ")");
 
-					// Open his menu if any
-				} else if (hasClasses() && !ArenaClass.getClasses().isEmpty())
-					ClassSelectionMenu.openSelectMenu(player, this);
+				if (bulkJoining)
+					pendingMenus.add(player);
+				else
+					openSelectionMenu(player);
 
 			} else
 				// If spectating, only show message
@@ -317,6 +456,40 @@ public abstract class Arena {
 		scoreboard.onPlayerJoin(player, joinMode);
 	}
 
+	/*
+	 * Open the team selection menu, or the class selection menu if the arena has no teams
+	 */
+	private void openSelectionMenu(final Player player) {
+
+		// Open team menu if any
+		if (hasTeamSelection()) {
+			Valid.checkBoolean(this instanceof TeamArena, "Only TeamArena has support for teams! Remove hasTeams() from " + getClass() + " now");
+
+			TeamSelectionMenu.openSelectMenu(player, (TeamArena) this);
+
+			// Open his menu if any
+		} else if (hasClassSelection())
+			ClassSelectionMenu.openSelectMenu(player, this);
+	}
+
+	/**
+	 * Return true if players pick a team when joining this arena
+	 *
+	 * @return
+	 */
+	public final boolean hasTeamSelection() {
+		return hasTeams() && !ArenaTeam.getTeams().isEmpty();
+	}
+
+	/**
+	 * Return true if players pick a class when joining this arena
+	 *
+	 * @return
+	 */
+	public final boolean hasClassSelection() {
+		return hasClasses() && !ArenaClass.getClasses().isEmpty();
+	}
+
 	/**
 	 * Remove the player from this arena
 	 *
@@ -329,6 +502,14 @@ public abstract class Arena {
 		Valid.checkBoolean(arenaPlayer.hasArena() && arenaPlayer.getArena().equals(this), "Player " + player.getName() + " is not joined in " + getName());
 
 		arenaPlayer.setLeavingArena(true);
+		pendingRespawns.remove(player.getUniqueId());
+		onLeaveStart(player);
+
+		MatchJournal.record(JournalEvent.LEAVE, this, player.getName(), reason.name());
+
+		// Only players still in the game win, not those already spectating
+		if (reason.isWin() && arenaPlayer.getMode() == ArenaJoinMode.PLAYING)
+			arenaPlayer.addWin(getType());
 
 		if (getPlayers(ArenaJoinMode.PLAYING).size() > 0 && (Settings.Rotate.ENABLED || reason.canSpectate()) && canSpectateOnLeave(player) && !arenaPlayer.isLeavingServer()) {
 			onSpectateStart(player, reason);
@@ -337,6 +518,8 @@ public abstract class Arena {
 			scoreboard.onPlayerLeave(player);
 
 			players.remove(arenaPlayer);
+			visibility.restore(player);
+			updateMembership();
 
 			try {
 				onLeave(player, reason);
@@ -351,6 +534,7 @@ public abstract class Arena {
 			}
 
 			arenaPlayer.markArenaLeft();
+			ArenaMatchmaker.onArenaLeave(player);
 
 			if (!isEdited()) {
 				PlayerUtil.normalize(player, true);
@@ -375,6 +559,15 @@ public abstract class Arena {
 		arenaPlayer.setLeavingArena(false);
 	}
 
+	/**
+	 * Called automatically when the player starts leaving, before he becomes
+	 * a spectator or is removed from the arena. His team and class are still set.
+	 *
+	 * @param player
+	 */
+	protected void onLeaveStart(final Player player) {
+	}
+
 	/**
 	 * Called automatically when the player leaves
 	 *
@@ -417,6 +610,16 @@ public abstract class Arena {
 		Messenger.announce(player, message);
 	}
 
+	/**
+	 * Called automatically after the player got a new team
+	 *
+	 * @param player
+	 * @param oldTeam the previous team or null if he had none
+	 * @param newTeam
+	 */
+	protected void onTeamAssign(final Player player, final ArenaTeam oldTeam, final ArenaTeam newTeam) {
+	}
+
 	/**
 	 * Called automatically when the player enters spectate mode after he died
 	 *
@@ -427,6 +630,7 @@ public abstract class Arena {
 		final ArenaPlayer cache = ArenaPlayer.getCache(player);
 
 		cache.markSpectate();
+		updateMembership();
 
 		// We give rewards now instead of waiting till disconnect (easier handling)
 		giveRewards(player, reason);
@@ -446,7 +650,7 @@ public abstract class Arena {
 		PlayerUtil.normalize(player, true);
 
 		// Set invisibility
-		forEachInAllModes(other -> other.hidePlayer(player));
+		visibility.hide(player);
 
 		// Set flying
 		player.setAllowFlight(true);
@@ -502,6 +706,7 @@ public abstract class Arena {
 		onReward(player, cache);
 
 		final double arenaPoints = cache.getArenaPoints();
+		MatchJournal.record(JournalEvent.REWARD, this, player.getName(), reason.name(), arenaPoints);
 
 		if (arenaPoints > 0) {
 			// Convert arena points to total points and clear up arena points
@@ -541,10 +746,18 @@ public abstract class Arena {
 		this.playersAtTheStart = new ArrayList<>(getPlayersInAllModes());
 
 		state = ArenaState.PLAYED;
+		starting = true;
+		regionBounds = ArenaRegionBounds.of(settings.getRegion());
+		gameStartMillis = System.currentTimeMillis();
 
-		try {
-			starting = true;
+		if (lobbyStartMillis != 0)
+			ArenaMetrics.recordLobbyWait(this, gameStartMillis - lobbyStartMillis);
+
+		MatchJournal.record(JournalEvent.START, this, null, getType());
+
+		updateMembership();
 
+		try {
 			onPreStart();
 
 			if (!canStart()) {
@@ -554,9 +767,6 @@ public abstract class Arena {
 				return;
 			}
 
-			heartbeat.launch();
-			scoreboard.onStart();
-
 			if (startCountdown.isRunning())
 				startCountdown.cancel();
 
@@ -566,10 +776,25 @@ public abstract class Arena {
 				Common.error(t, "Failed to properly handle start of arena " + name);
 			}
 
-		} finally {
+		} catch (final Throwable t) {
 			starting = false;
+
+			throw t;
 		}
 
+		// Teleport players and give them kits over a few ticks, then go live
+		startQueue.launch(this::finishStart);
+	}
+
+	/*
+	 * Launch the game when all players have been placed in the arena
+	 */
+	private void finishStart() {
+		starting = false;
+
+		heartbeat.launch();
+		scoreboard.onStart();
+
 		// Close all players inventories
 		forEachInAllModes(Player::closeInventory);
 
@@ -602,10 +827,12 @@ public abstract class Arena {
 				if (cache.getArenaClass() == null) {
 					final ArenaClass picked = classPicker.pickFromFor(ArenaClass.getClasses(), player);
 
-					if (picked != null)
-						picked.assignTo(cache.getPlayer());
+					if (picked != null) {
+						final ArenaClass.ArenaClassTier tier = picked.assignTo(player, false);
 
-					else {
+						queueStart(player, queued -> tier.applyFor(queued, true));
+
+					} else {
 						leavePlayer(cache.getPlayer(), ArenaLeaveReason.NO_CLASS);
 
 						continue;
@@ -636,14 +863,17 @@ public abstract class Arena {
 	}
 
 	/**
-	 * Called when the lobby starts on first player join
+	 * Called when the lobby starts on first player join, the countdown
+	 * is launched separately once there are enough players
 	 */
 	protected void onLobbyStart() {
 		Valid.checkBoolean(!startCountdown.isRunning(), "Arena start countdown already running for " + getName());
 
-		startCountdown.launch();
 		scoreboard.onLobbyStart();
 
+		// Load the arena chunks while players wait so that teleporting them in on start is smooth
+		ArenaChunkManager.preload(this);
+
 		// Save the map blocks
 		if (settings.isMapResetEnabled())
 			ArenaMapManager.saveRegion(this);
@@ -715,6 +945,9 @@ public abstract class Arena {
 
 			playerTags.clear();
 
+			// Unpin chunks before restoring since world reset needs to unload them
+			ArenaChunkManager.release(this);
+
 			// Load the map back to where it was originally
 			if (state == ArenaState.PLAYED)
 				if (settings.isMapResetEnabled())
@@ -726,12 +959,34 @@ public abstract class Arena {
 		} finally {
 			state = ArenaState.STOPPED;
 			players.clear();
+			visibility.restoreAll();
+			membership = ArenaMembership.empty(this);
+			regionBounds = null;
+
+			if (gameStartMillis != 0)
+				ArenaMetrics.recordGameDuration(this, System.currentTimeMillis() - gameStartMillis);
+
+			MatchJournal.record(JournalEvent.STOP, this, null, reason.name(), gameStartMillis != 0 ? (System.currentTimeMillis() - gameStartMillis) / 1000D : 0);
+
+			lobbyStartMillis = 0;
+			gameStartMillis = 0;
+
+			startQueue.cancel();
+			starting = false;
+			countdownLaunched = false;
+
+			joinQueue.cancel();
+			bulkJoinedNames.clear();
+			pendingMenus.clear();
+			pendingRespawns.clear();
 
 			stopping = false;
 			playersAtTheStart.clear();
 
 			Common.log("Stopped arena " + getName());
 
+			ArenaFileWatcher.onArenaStop(this);
+			ArenaWarmPool.onArenaStop(this);
 			ArenaRotateManager.onArenaStop();
 		}
 	}
@@ -742,16 +997,38 @@ public abstract class Arena {
 	protected void onStop() {
 	}
 
+	/**
+	 * Let go of everything this instance still holds before it is replaced
+	 * by a reloaded one or removed, the arena must be stopped
+	 */
+	final void unload() {
+		Valid.checkBoolean(isStopped(), "Cannot unload arena " + getName() + " while it is " + state);
+
+		if (startCountdown.isRunning())
+			startCountdown.cancel();
+
+		if (heartbeat.isRunning())
+			heartbeat.cancel();
+
+		startQueue.cancel();
+		joinQueue.cancel();
+
+		ArenaChunkManager.release(this);
+	}
+
 	/*
 	 * Clean up all entities in the arena except players
 	 */
 	private void cleanEntities() {
+		final long start = ArenaProfiler.start();
 		final List<Entity> entities = getSettings().getRegion() != null ? getSettings().getRegion().getEntities() : new ArrayList<>();
 		final StrictSet<String> ignoredEntities = new StrictSet<>("PLAYER", "ITEM_FRAME", "PAINTING", "ARMOR_STAND", "LEASH_HITCH");
 
 		for (final Entity entity : entities)
 			if (!ignoredEntities.contains(entity.getType().toString()))
 				entity.remove();
+
+		ArenaProfiler.stop(this, ArenaProfiler.Section.ENTITY_CLEANUP, start);
 	}
 
 	// ------–------–------–------–------–------–------–------–------–------–------–------–
@@ -1072,6 +1349,17 @@ public abstract class Arena {
 		return settings.isSetup();
 	}
 
+	/**
+	 * Return true if the arena map or world is being restored right now
+	 *
+	 * @return
+	 */
+	public final boolean isRestoring() {
+		final Region region = settings.getRegion();
+
+		return ArenaMapManager.isRegionBeingRestored(this) || (region != null && region.isWhole() && ArenaWorldManager.isWorldBeingProcessed(region.getWorld()));
+	}
+
 	/**
 	 * Return true if the arena is stopped right now
 	 * <p>
@@ -1183,6 +1471,31 @@ public abstract class Arena {
 		return null;
 	}
 
+	/**
+	 * Return who is in this arena right now, safe to call from async threads
+	 *
+	 * @return
+	 */
+	public final ArenaMembership getMembership() {
+		return membership;
+	}
+
+	/**
+	 * Return the region bounds of this arena while it is played, or null otherwise
+	 *
+	 * @return
+	 */
+	public final ArenaRegionBounds getRegionBounds() {
+		return regionBounds;
+	}
+
+	/**
+	 * Publish a new membership snapshot after players, their modes or teams changed
+	 */
+	final void updateMembership() {
+		membership = ArenaMembership.of(this);
+	}
+
 	/**
 	 * Return if the player has joined after the arena has begun
 	 *
@@ -1352,6 +1665,54 @@ public abstract class Arena {
 			consumer.accept(player);
 	}
 
+	/**
+	 * Queue code to run for the player when the arena starts, such as teleporting
+	 * him to the spawn point. Queued code is spread across a few ticks and the
+	 * arena only goes live after all of it has been run.
+	 *
+	 * The code is skipped if the player leaves in the meanwhile, and waits
+	 * until he respawns if he is dead when his turn comes.
+	 *
+	 * @param player
+	 * @param consumer
+	 */
+	protected final void queueStart(final Player player, final Consumer<Player> consumer) {
+		Valid.checkBoolean(starting, "Start tasks can only be queued while arena " + getName() + " is starting");
+
+		startQueue.add(() -> {
+			if (!isStillJoined(player))
+				return;
+
+			if (player.isDead())
+				pendingRespawns.computeIfAbsent(player.getUniqueId(), id -> new ArrayList<>()).add(consumer);
+			else
+				consumer.accept(player);
+		});
+	}
+
+	/**
+	 * Run start tasks the player missed because he was dead, called automatically
+	 * after he respawns and before {@link #onPlayerRespawn(Player, ArenaPlayer)}
+	 *
+	 * @param player
+	 */
+	final void runPendingStart(final Player player) {
+		final List<Consumer<Player>> consumers = pendingRespawns.remove(player.getUniqueId());
+
+		if (consumers != null && isStillJoined(player))
+			for (final Consumer<Player> consumer : consumers)
+				consumer.accept(player);
+	}
+
+	/*
+	 * Return true if the player is online, in this arena and not leaving it
+	 */
+	private boolean isStillJoined(final Player player) {
+		final ArenaPlayer cache = ArenaPlayer.getCache(player);
+
+		return player.isOnline() && cache.hasArena() && cache.getArena().equals(this) && !cache.isLeavingArena();
+	}
+
 	/**
 	 * Teleports the player to the given location
 	 *
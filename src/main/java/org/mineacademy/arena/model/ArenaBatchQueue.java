@@ -0,0 +1,154 @@
+package org.mineacademy.arena.model;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import org.bukkit.scheduler.BukkitTask;
+import org.mineacademy.fo.Common;
+
+/**
+ * A queue of tasks spread across several ticks, each tick running
+ * as many tasks as fit within the given time budget
+ */
+public final class ArenaBatchQueue {
+
+	/**
+	 * The tasks waiting to be run
+	 */
+	private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+	/**
+	 * How long we may run tasks each tick, in nanoseconds
+	 */
+	private final long budgetNanos;
+
+	/**
+	 * Code to run after each batch, or null
+	 */
+	private Runnable batchEnd;
+
+	/**
+	 * Code to run when all tasks are done, or null
+	 */
+	private Runnable finish;
+
+	/**
+	 * The repeating task processing the queue
+	 */
+	private BukkitTask task;
+
+	/**
+	 * Create a new queue running tasks for up to the given milliseconds each tick
+	 *
+	 * @param budgetMillis
+	 */
+	public ArenaBatchQueue(final int budgetMillis) {
+		this.budgetNanos = budgetMillis * 1_000_000L;
+	}
+
+	/**
+	 * Add a new task to the end of the queue
+	 *
+	 * @param task
+	 */
+	public void add(final Runnable task) {
+		tasks.add(task);
+	}
+
+	/**
+	 * Set the code to run after each batch
+	 *
+	 * @param batchEnd
+	 */
+	public void setBatchEnd(final Runnable batchEnd) {
+		this.batchEnd = batchEnd;
+	}
+
+	/**
+	 * Run the first batch right away and the rest in the next ticks,
+	 * running the given code when the queue is empty
+	 *
+	 * @param finish
+	 */
+	public void launch(final Runnable finish) {
+		this.finish = finish;
+
+		if (task == null)
+			task = Common.runTimer(1, this::runBatch);
+
+		runBatch();
+	}
+
+	/**
+	 * Cancel the queue and remove all waiting tasks without running the finish code
+	 */
+	public void cancel() {
+		if (task != null) {
+			task.cancel();
+
+			task = null;
+		}
+
+		tasks.clear();
+		finish = null;
+	}
+
+	/**
+	 * Return true if the queue is being processed
+	 *
+	 * @return
+	 */
+	public boolean isRunning() {
+		return task != null;
+	}
+
+	/**
+	 * Return how many tasks are waiting to be run
+	 *
+	 * @return
+	 */
+	public int size() {
+		return tasks.size();
+	}
+
+	/*
+	 * Run tasks until we run out of the budget, at least one per tick
+	 */
+	private void runBatch() {
+		if (task == null)
+			return;
+
+		final long start = System.nanoTime();
+
+		do {
+			final Runnable next = tasks.poll();
+
+			if (next == null)
+				break;
+
+			try {
+				next.run();
+
+			} catch (final Throwable t) {
+				Common.error(t, "Failed to run a queued arena task");
+			}
+
+		} while (task != null && System.nanoTime() - start < budgetNanos);
+
+		// Cancelled from within a task
+		if (task == null)
+			return;
+
+		if (batchEnd != null)
+			batchEnd.run();
+
+		if (tasks.isEmpty()) {
+			final Runnable finish = this.finish;
+
+			cancel();
+
+			if (finish != null)
+				finish.run();
+		}
+	}
+}
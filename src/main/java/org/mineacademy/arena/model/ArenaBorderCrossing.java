@@ -0,0 +1,127 @@
+package org.mineacademy.arena.model;
+
+import org.bukkit.Location;
+
+/**
+ * Classifies a move between two places by the arenas they belong to.
+ *
+ * One instance is reused for all events on the main thread, so classifying
+ * does not allocate. Read the result right after calling classify since the
+ * next call overwrites it.
+ */
+final class ArenaBorderCrossing {
+
+	/**
+	 * The move starts in an arena
+	 */
+	static final int FROM_ARENA = 1;
+
+	/**
+	 * The move ends in an arena
+	 */
+	static final int TO_ARENA = 1 << 1;
+
+	/**
+	 * The move leaves the arena it started in
+	 */
+	static final int LEAVING = 1 << 2;
+
+	/**
+	 * The move enters an arena it did not start in
+	 */
+	static final int ENTERING = 1 << 3;
+
+	/**
+	 * The arena the last move started in, or null
+	 */
+	private Arena fromArena;
+
+	/**
+	 * The arena the last move ended in, or null
+	 */
+	private Arena toArena;
+
+	/**
+	 * The flags of the last move
+	 */
+	private int flags;
+
+	/**
+	 * Classify a move between the two locations
+	 *
+	 * @param from
+	 * @param to
+	 * @return the flags
+	 */
+	int classify(final Location from, final Location to) {
+		return classify(ArenaManager.findArena(from), to != null ? ArenaManager.findArena(to) : null);
+	}
+
+	/**
+	 * Classify a move between the two arenas, each may be null
+	 *
+	 * @param fromArena
+	 * @param toArena
+	 * @return the flags
+	 */
+	int classify(final Arena fromArena, final Arena toArena) {
+		int flags = 0;
+
+		if (fromArena != null)
+			flags |= FROM_ARENA;
+
+		if (toArena != null)
+			flags |= TO_ARENA;
+
+		if (fromArena == null ? toArena != null : !fromArena.equals(toArena)) {
+			if (fromArena != null)
+				flags |= LEAVING;
+
+			if (toArena != null)
+				flags |= ENTERING;
+		}
+
+		this.fromArena = fromArena;
+		this.toArena = toArena;
+		this.flags = flags;
+
+		return flags;
+	}
+
+	/**
+	 * Return true if the last move left or entered an arena
+	 *
+	 * @return
+	 */
+	boolean crossesBorder() {
+		return (flags & (LEAVING | ENTERING)) != 0;
+	}
+
+	/**
+	 * Return true if the last move had the given flag
+	 *
+	 * @param flag
+	 * @return
+	 */
+	boolean has(final int flag) {
+		return (flags & flag) != 0;
+	}
+
+	/**
+	 * Return the arena the last move started in, or null
+	 *
+	 * @return
+	 */
+	Arena getFromArena() {
+		return fromArena;
+	}
+
+	/**
+	 * Return the arena the last move ended in, or null
+	 *
+	 * @return
+	 */
+	Arena getToArena() {
+		return toArena;
+	}
+}
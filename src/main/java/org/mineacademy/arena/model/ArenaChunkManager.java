@@ -0,0 +1,245 @@
+package org.mineacademy.arena.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+import org.mineacademy.arena.perf.ArenaProfiler;
+import org.mineacademy.arena.settings.Settings;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.plugin.SimplePlugin;
+import org.mineacademy.fo.region.Region;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Loads and pins chunks of the arena region and its lobby while players wait
+ * in the lobby, or while the arena waits in the {@link ArenaWarmPool}, so that
+ * joining and teleporting everyone in on start does not load chunks synchronously
+ *
+ * Spawn points must be placed within the arena region, so covering
+ * the region covers them as well
+ */
+@UtilityClass
+public final class ArenaChunkManager {
+
+	/**
+	 * Chunks being loaded or pinned, by arena name
+	 */
+	private final Map<String, ChunkPreload> preloads = new HashMap<>();
+
+	/**
+	 * Start loading and pinning all chunks of the arena region and the lobby chunk,
+	 * a few per tick, unless they already are
+	 *
+	 * @param arena
+	 */
+	public void preload(Arena arena) {
+		final Region region = arena.getSettings().getRegion();
+
+		if (region == null || !region.isWhole() || preloads.containsKey(arena.getName()))
+			return;
+
+		final Location primary = region.getPrimary();
+		final Location secondary = region.getSecondary();
+
+		final int minX = Math.min(primary.getBlockX(), secondary.getBlockX()) >> 4;
+		final int maxX = Math.max(primary.getBlockX(), secondary.getBlockX()) >> 4;
+		final int minZ = Math.min(primary.getBlockZ(), secondary.getBlockZ()) >> 4;
+		final int maxZ = Math.max(primary.getBlockZ(), secondary.getBlockZ()) >> 4;
+
+		final ChunkPreload preload = new ChunkPreload();
+		final World world = region.getWorld();
+
+		for (int x = minX; x <= maxX; x++)
+			for (int z = minZ; z <= maxZ; z++)
+				preload.chunks.add(new PinnedChunk(world, x, z));
+
+		// The lobby is often next to the region rather than in it, players are teleported there first
+		final Location lobby = arena.getSettings().getLobbyLocation();
+
+		if (lobby != null && lobby.getWorld() != null) {
+			final int lobbyX = lobby.getBlockX() >> 4;
+			final int lobbyZ = lobby.getBlockZ() >> 4;
+
+			if (!lobby.getWorld().equals(world) || lobbyX < minX || lobbyX > maxX || lobbyZ < minZ || lobbyZ > maxZ)
+				preload.chunks.add(0, new PinnedChunk(lobby.getWorld(), lobbyX, lobbyZ));
+		}
+
+		preloads.put(arena.getName(), preload);
+		preload.task = Common.runTimer(1, () -> preload.loadNext(arena));
+	}
+
+	/**
+	 * Stop loading and release all pinned chunks of the arena
+	 *
+	 * @param arena
+	 */
+	public void release(Arena arena) {
+		final ChunkPreload preload = preloads.remove(arena.getName());
+
+		if (preload != null)
+			preload.release();
+	}
+
+	/**
+	 * Return how many chunks of the arena are loaded, from 0 to 1,
+	 * or 1 if the arena is not being preloaded
+	 *
+	 * @param arena
+	 * @return
+	 */
+	public double getProgress(Arena arena) {
+		final ChunkPreload preload = preloads.get(arena.getName());
+
+		return preload == null || preload.chunks.isEmpty() ? 1 : (double) preload.loaded / preload.chunks.size();
+	}
+
+	/**
+	 * Return true if all chunks of the arena are loaded and pinned
+	 *
+	 * @param arena
+	 * @return
+	 */
+	public boolean isPreloaded(Arena arena) {
+		return getProgress(arena) >= 1;
+	}
+
+	/**
+	 * Run the given code once all chunks of the arena are loaded,
+	 * or right away if they already are
+	 *
+	 * @param arena
+	 * @param callback
+	 */
+	public void whenPreloaded(Arena arena, Runnable callback) {
+		final ChunkPreload preload = preloads.get(arena.getName());
+
+		if (preload == null || preload.isFinished())
+			callback.run();
+
+		else
+			preload.callbacks.add(callback);
+	}
+
+	/**
+	 * Represents chunks being loaded for a single arena
+	 */
+	private static final class ChunkPreload {
+
+		/**
+		 * The chunks to load
+		 */
+		private final List<PinnedChunk> chunks = new ArrayList<>();
+
+		/**
+		 * Code to run when all chunks are loaded
+		 */
+		private final List<Runnable> callbacks = new ArrayList<>();
+
+		/**
+		 * How many chunks have been loaded so far
+		 */
+		private int loaded = 0;
+
+		/**
+		 * Does the server support plugin chunk tickets? (MC 1.14+)
+		 */
+		private boolean ticketsSupported = true;
+
+		/**
+		 * The task loading the chunks
+		 */
+		private BukkitTask task;
+
+		/*
+		 * Load and pin the next batch of chunks, finishing when all are loaded
+		 */
+		private void loadNext(Arena arena) {
+			final long start = ArenaProfiler.start();
+
+			try {
+				for (int i = 0; i < Settings.ChunkPreload.CHUNKS_PER_TICK && loaded < chunks.size(); i++) {
+					final PinnedChunk chunk = chunks.get(loaded++);
+
+					if (!chunk.world.isChunkLoaded(chunk.x, chunk.z))
+						chunk.world.loadChunk(chunk.x, chunk.z);
+
+					if (ticketsSupported)
+						try {
+							chunk.world.addPluginChunkTicket(chunk.x, chunk.z, SimplePlugin.getInstance());
+
+						} catch (final NoSuchMethodError ex) {
+							// Old MC lack chunk tickets, chunks stay loaded while players are nearby
+							ticketsSupported = false;
+						}
+				}
+
+			} catch (final Throwable t) {
+				Common.error(t, "Failed to preload chunks for arena " + arena.getName() + ", starting without them");
+
+				loaded = chunks.size();
+			}
+
+			ArenaProfiler.stop(arena, ArenaProfiler.Section.CHUNK_PRELOAD, start);
+
+			if (isFinished()) {
+				task.cancel();
+
+				for (final Runnable callback : callbacks)
+					callback.run();
+
+				callbacks.clear();
+			}
+		}
+
+		/*
+		 * Return true if all chunks were loaded
+		 */
+		private boolean isFinished() {
+			return loaded >= chunks.size();
+		}
+
+		/*
+		 * Cancel loading and remove chunk tickets
+		 */
+		private void release() {
+			if (task != null)
+				task.cancel();
+
+			callbacks.clear();
+
+			if (ticketsSupported)
+				try {
+					for (int i = 0; i < loaded; i++) {
+						final PinnedChunk chunk = chunks.get(i);
+
+						chunk.world.removePluginChunkTicket(chunk.x, chunk.z, SimplePlugin.getInstance());
+					}
+
+				} catch (final NoSuchMethodError ex) {
+					// Old MC lack chunk tickets
+				}
+		}
+	}
+
+	/**
+	 * The coordinates of a chunk to load and pin
+	 */
+	private static final class PinnedChunk {
+
+		private final World world;
+		private final int x;
+		private final int z;
+
+		private PinnedChunk(World world, int x, int z) {
+			this.world = world;
+			this.x = x;
+			this.z = z;
+		}
+	}
+}
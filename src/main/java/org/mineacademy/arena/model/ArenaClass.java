@@ -17,6 +17,7 @@ import org.mineacademy.fo.PlayerUtil;
 import org.mineacademy.fo.Valid;
 import org.mineacademy.fo.collection.SerializedMap;
 import org.mineacademy.fo.model.ConfigSerializable;
+import org.mineacademy.fo.plugin.SimplePlugin;
 import org.mineacademy.fo.remain.CompMaterial;
 import org.mineacademy.fo.settings.YamlConfig;
 
@@ -34,9 +35,9 @@ import java.util.Map.Entry;
 public final class ArenaClass extends YamlConfig {
 
 	/**
-	 * The list of loaded classes
+	 * The loaded classes, replaced as a whole when classes are loaded or removed
 	 */
-	private static volatile List<ArenaClass> loadedClasses = new ArrayList<>();
+	private static volatile ArenaNameIndex<ArenaClass> loadedClasses = ArenaNameIndex.empty();
 
 	/**
 	 * The icon to display in the menu for this class
@@ -86,6 +87,18 @@ public final class ArenaClass extends YamlConfig {
 	 * @param player
 	 */
 	public void assignTo(final Player player) {
+		assignTo(player, true);
+	}
+
+	/**
+	 * Assign this class to the given player, only giving him the kit
+	 * if giveKit is true
+	 *
+	 * @param player
+	 * @param giveKit
+	 * @return the class tier assigned, so that you can give the kit later
+	 */
+	public ArenaClassTier assignTo(final Player player, final boolean giveKit) {
 		final ArenaPlayer cache = ArenaPlayer.getCache(player);
 		Valid.checkBoolean(cache.hasArena() && cache.getMode() == ArenaJoinMode.PLAYING, "Classes may only be selected when playing an arena");
 
@@ -105,8 +118,12 @@ public final class ArenaClass extends YamlConfig {
 
 		Valid.checkNotNull(classTier, "Could not find tier of class " + getName() + " for player " + player.getName());
 
-		classTier.applyFor(player, true);
+		if (giveKit)
+			classTier.applyFor(player, true);
+
 		cache.setArenaClass(this);
+
+		return classTier;
 	}
 
 	/**
@@ -265,8 +282,18 @@ public final class ArenaClass extends YamlConfig {
 		return tiers.size();
 	}
 
+	/**
+	 * Queue saving this class, see {@link ArenaSaveQueue}
+	 */
 	@Override
 	public void save() {
+		ArenaSaveQueue.markDirty(this, "classes/" + getName() + ".yml", this::snapshot);
+	}
+
+	/*
+	 * Put the class with all tiers into the config and return the file content
+	 */
+	private String snapshot() {
 		final SerializedMap map = SerializedMap.ofArray(
 				"Applicable_Arenas", applicableArenas);
 		// Enable null values
@@ -277,7 +304,7 @@ public final class ArenaClass extends YamlConfig {
 		for (final Map.Entry<String, Object> entry : map.entrySet())
 			setNoSave(entry.getKey(), entry.getValue());
 
-		super.save();
+		return getConfig().saveToString();
 	}
 
 	@Override
@@ -293,7 +320,8 @@ public final class ArenaClass extends YamlConfig {
 	 * Load all classes in the plugin
 	 */
 	public static void loadClasses() {
-		loadedClasses.clear();
+		ArenaSaveQueue.flush();
+		loadedClasses = ArenaNameIndex.empty();
 
 		final File[] classFiles = FileUtil.getFiles("classes", "yml");
 
@@ -315,7 +343,7 @@ public final class ArenaClass extends YamlConfig {
 
 		try {
 			final ArenaClass arenaClass = new ArenaClass(name);
-			loadedClasses.add(arenaClass);
+			loadedClasses = loadedClasses.with(arenaClass);
 
 			Common.log("[+] Loaded class " + arenaClass.getName());
 			return arenaClass;
@@ -327,6 +355,35 @@ public final class ArenaClass extends YamlConfig {
 		return null;
 	}
 
+	/**
+	 * Reload a single class from its file, load it if it is new
+	 * or unload it if its file has been removed
+	 *
+	 * @param name
+	 */
+	public static void reloadClass(final String name) {
+		final ArenaClass oldClass = findClass(name);
+		final File file = new File(SimplePlugin.getData(), "classes/" + name + ".yml");
+		final int index = oldClass != null ? loadedClasses.indexOf(oldClass) : -1;
+
+		if (oldClass != null) {
+			ArenaSaveQueue.flush(oldClass);
+
+			loadedClasses = loadedClasses.without(oldClass);
+		}
+
+		if (file.exists()) {
+			final ArenaClass arenaClass = loadOrCreateClass(name);
+
+			// Keep the class at its original position
+			if (arenaClass != null && index != -1) {
+				loadedClasses = loadedClasses.without(arenaClass).with(arenaClass, index);
+			}
+
+		} else
+			Common.log("[-] Unloaded class " + name);
+	}
+
 	/**
 	 * Permanently delete a class
 	 *
@@ -335,9 +392,10 @@ public final class ArenaClass extends YamlConfig {
 	public static void removeClass(@NonNull final ArenaClass arenaClass) {
 		Valid.checkBoolean(isClassLoaded(arenaClass.getName()), "Class " + arenaClass.getName() + " not loaded. Available: " + getClassNames());
 
+		ArenaSaveQueue.discard(arenaClass);
 		arenaClass.delete();
 
-		loadedClasses.remove(arenaClass);
+		loadedClasses = loadedClasses.without(arenaClass);
 	}
 
 	/**
@@ -357,11 +415,7 @@ public final class ArenaClass extends YamlConfig {
 	 * @return
 	 */
 	public static ArenaClass findClass(@NonNull final String name) {
-		for (final ArenaClass arenaClass : loadedClasses)
-			if (arenaClass.getName().equalsIgnoreCase(name))
-				return arenaClass;
-
-		return null;
+		return loadedClasses.find(name);
 	}
 
 	/**
@@ -370,7 +424,7 @@ public final class ArenaClass extends YamlConfig {
 	 * @return
 	 */
 	public static List<ArenaClass> getClasses() {
-		return Collections.unmodifiableList(loadedClasses);
+		return loadedClasses.getItems();
 	}
 
 	/**
@@ -379,7 +433,7 @@ public final class ArenaClass extends YamlConfig {
 	 * @return
 	 */
 	public static List<String> getClassNames() {
-		return Common.convert(loadedClasses, ArenaClass::getName);
+		return loadedClasses.getNames();
 	}
 
 	// ------–------–------–------–------–------–------–------–------–------–------–------–
@@ -389,7 +443,6 @@ public final class ArenaClass extends YamlConfig {
 	/**
 	 * Represents the tier data class
 	 */
-	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 	public final static class ArenaClassTier implements ConfigSerializable {
 
 		/**
@@ -420,6 +473,20 @@ public final class ArenaClass extends YamlConfig {
 		 */
 		private SerializedMap potionEffects = new SerializedMap();
 
+		/**
+		 * What we give to players, rebuilt each time the content or effects change
+		 */
+		private Loadout loadout;
+
+		/*
+		 * Create a new empty tier
+		 */
+		private ArenaClassTier(final ArenaClass arenaClass) {
+			this.arenaClass = arenaClass;
+
+			compile();
+		}
+
 		/**
 		 * Set the price for this tier
 		 *
@@ -441,6 +508,7 @@ public final class ArenaClass extends YamlConfig {
 			this.content = content;
 			this.armorContent = armor;
 
+			compile();
 			arenaClass.save();
 		}
 
@@ -452,6 +520,7 @@ public final class ArenaClass extends YamlConfig {
 		public void setContent(final ItemStack[] content) {
 			this.content = content;
 
+			compile();
 			arenaClass.save();
 		}
 
@@ -463,6 +532,7 @@ public final class ArenaClass extends YamlConfig {
 		public void setArmorContent(final ItemStack[] armorContent) {
 			this.armorContent = armorContent;
 
+			compile();
 			arenaClass.save();
 		}
 
@@ -498,6 +568,7 @@ public final class ArenaClass extends YamlConfig {
 			else
 				potionEffects.override(type.getName(), level);
 
+			compile();
 			arenaClass.save();
 		}
 
@@ -508,15 +579,54 @@ public final class ArenaClass extends YamlConfig {
 		 * @param giveInventory
 		 */
 		public void applyFor(final Player player, boolean giveInventory) {
+			final Loadout loadout = this.loadout;
+
 			if (giveInventory) {
 				final PlayerInventory inventory = player.getInventory();
 
-				inventory.setContents(content);
-				inventory.setArmorContents(armorContent);
+				inventory.setContents(loadout.content);
+				inventory.setArmorContents(loadout.armorContent);
 			}
 
-			for (final Entry<String, Object> effect : potionEffects.asMap().entrySet())
-				player.addPotionEffect(new PotionEffect(PotionEffectType.getByName(effect.getKey()), Integer.MAX_VALUE, (int) effect.getValue() - 1), true);
+			for (final PotionEffect effect : loadout.potionEffects)
+				player.addPotionEffect(effect, true);
+		}
+
+		/*
+		 * Copy items and resolve potion effects into a new loadout so applying it
+		 * does no lookups and cannot change what we store
+		 */
+		private void compile() {
+			final List<PotionEffect> effects = new ArrayList<>();
+
+			for (final Entry<String, Object> entry : potionEffects.asMap().entrySet()) {
+				final PotionEffectType type = PotionEffectType.getByName(entry.getKey());
+
+				if (type == null) {
+					Common.log("Warning: Class " + arenaClass.getName() + " has an unknown potion effect " + entry.getKey() + ", ignoring.");
+
+					continue;
+				}
+
+				effects.add(new PotionEffect(type, Integer.MAX_VALUE, (int) entry.getValue() - 1));
+			}
+
+			this.loadout = new Loadout(copyItems(content), copyItems(armorContent), effects.toArray(new PotionEffect[effects.size()]));
+		}
+
+		/*
+		 * Return a copy of the array with each item cloned
+		 */
+		private static ItemStack[] copyItems(final ItemStack[] items) {
+			if (items == null)
+				return new ItemStack[0];
+
+			final ItemStack[] copy = new ItemStack[items.length];
+
+			for (int i = 0; i < items.length; i++)
+				copy[i] = items[i] != null ? items[i].clone() : null;
+
+			return copy;
 		}
 
 		/**
@@ -537,6 +647,7 @@ public final class ArenaClass extends YamlConfig {
 			tier.armorContent = armor.toArray(new ItemStack[armor.size()]);
 
 			tier.potionEffects = map.getMap("Potion_Effects");
+			tier.compile();
 
 			return tier;
 		}
@@ -560,5 +671,27 @@ public final class ArenaClass extends YamlConfig {
 		public String toString() {
 			return "Tier {content= " + Common.join(content, ", ", item -> item.getType().toString()) + "; armor=" + Common.join(armorContent, ", ", item -> item.getType().toString()) + "}";
 		}
+
+		/*
+		 * Items and effects ready to be given to players, never changed once created
+		 */
+		@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+		private static final class Loadout {
+
+			/**
+			 * Cloned inventory content
+			 */
+			private final ItemStack[] content;
+
+			/**
+			 * Cloned armor content
+			 */
+			private final ItemStack[] armorContent;
+
+			/**
+			 * Resolved potion effects
+			 */
+			private final PotionEffect[] potionEffects;
+		}
 	}
 }
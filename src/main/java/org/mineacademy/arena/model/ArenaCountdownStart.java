@@ -54,6 +54,13 @@ public class ArenaCountdownStart extends Countdown {
 	 */
 	@Override
 	protected void onEnd() {
-		arena.startArena();
+		if (!ArenaChunkManager.isPreloaded(arena))
+			arena.broadcastWarn("Loading the arena map (" + Math.round(ArenaChunkManager.getProgress(arena) * 100) + "%), please wait...");
+
+		// Only start once the arena chunks are loaded to prevent lag when teleporting players in
+		ArenaChunkManager.whenPreloaded(arena, () -> {
+			if (arena.getState() == ArenaState.LOBBY && !arena.isStopping())
+				arena.startArena();
+		});
 	}
 }
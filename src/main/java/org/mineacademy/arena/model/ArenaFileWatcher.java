@@ -0,0 +1,313 @@
+package org.mineacademy.arena.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import org.mineacademy.arena.settings.Settings;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.plugin.SimplePlugin;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Watches the arenas/, classes/ and teams/ folders and reloads only the file
+ * that changed. Arenas being played or edited, and classes and teams used by players,
+ * are reloaded after their arena stops.
+ */
+@UtilityClass
+public final class ArenaFileWatcher {
+
+	/**
+	 * The folders we watch in our plugin folder
+	 */
+	private final String[] FOLDERS = { "arenas", "classes", "teams" };
+
+	/**
+	 * How long to wait after a change before reloading, so that editors saving
+	 * the file in several steps only trigger one reload
+	 */
+	private final int RELOAD_DELAY_TICKS = 20;
+
+	/**
+	 * The watch service, null if not watching
+	 */
+	private WatchService watchService;
+
+	/**
+	 * The thread waiting for file changes
+	 */
+	private Thread watchThread;
+
+	/**
+	 * The folder each watch key belongs to
+	 */
+	private final Map<WatchKey, String> watchedFolders = new ConcurrentHashMap<>();
+
+	/**
+	 * Changed files waiting to be reloaded, as folder/name, accessed from both threads
+	 */
+	private final Set<String> changedFiles = new LinkedHashSet<>();
+
+	/**
+	 * Changed files we could not reload yet because they are in use, as folder/name
+	 */
+	private final Set<String> deferredFiles = new LinkedHashSet<>();
+
+	/**
+	 * Checksums of file contents we loaded or wrote ourselves, as folder/name,
+	 * so that we only reload files changed by someone else. Written by the save thread.
+	 */
+	private final Map<String, Long> checksums = new ConcurrentHashMap<>();
+
+	/**
+	 * Start watching for file changes, stopping the previous watcher if any
+	 */
+	public void start() {
+		stop();
+
+		if (!Settings.HotReload.ENABLED)
+			return;
+
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+
+			for (final String folder : FOLDERS) {
+				final File directory = new File(SimplePlugin.getData(), folder);
+
+				if (!directory.exists())
+					directory.mkdirs();
+
+				for (final File file : directory.listFiles())
+					if (file.getName().endsWith(".yml"))
+						checksums.put(folder + "/" + file.getName().replace(".yml", ""), checksum(file));
+
+				watchedFolders.put(directory.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE), folder);
+			}
+
+		} catch (final IOException ex) {
+			Common.error(ex, "Failed to watch arena files for changes, hot reload is disabled");
+
+			stop();
+			return;
+		}
+
+		watchThread = new Thread(ArenaFileWatcher::watch, "Arena File Watcher");
+		watchThread.setDaemon(true);
+		watchThread.start();
+	}
+
+	/**
+	 * Stop watching for file changes
+	 */
+	public void stop() {
+		if (watchService != null)
+			try {
+				watchService.close();
+
+			} catch (final IOException ex) {
+				// Closing anyways
+			}
+
+		if (watchThread != null)
+			watchThread.interrupt();
+
+		watchService = null;
+		watchThread = null;
+
+		watchedFolders.clear();
+		deferredFiles.clear();
+		checksums.clear();
+
+		synchronized (changedFiles) {
+			changedFiles.clear();
+		}
+	}
+
+	/**
+	 * Called automatically when an arena stops, reloading files that waited for it
+	 *
+	 * @param arena
+	 */
+	public void onArenaStop(final Arena arena) {
+		if (!deferredFiles.isEmpty())
+			Common.runLater(() -> {
+				final Set<String> files = new LinkedHashSet<>(deferredFiles);
+				deferredFiles.clear();
+
+				for (final String file : files)
+					reload(file, false);
+			});
+	}
+
+	/**
+	 * Called from {@link ArenaSaveQueue} right before it replaces a file with the given content,
+	 * so that we do not reload the file we saved ourselves and replace the instance being edited
+	 *
+	 * @param file
+	 * @param content
+	 */
+	public void onSaved(final File file, final byte[] content) {
+		final String folder = file.getParentFile().getName();
+		final String fileName = file.getName();
+
+		if (!fileName.endsWith(".yml") || !file.getParentFile().getParentFile().equals(SimplePlugin.getData()))
+			return;
+
+		for (final String watched : FOLDERS)
+			if (watched.equals(folder)) {
+				final CRC32 crc = new CRC32();
+				crc.update(content);
+
+				checksums.put(folder + "/" + fileName.substring(0, fileName.length() - ".yml".length()), crc.getValue());
+			}
+	}
+
+	/*
+	 * Wait for file changes and schedule reloading them on the main thread
+	 */
+	private void watch() {
+		final WatchService watchService = ArenaFileWatcher.watchService;
+
+		while (!Thread.currentThread().isInterrupted()) {
+			final WatchKey key;
+
+			try {
+				key = watchService.take();
+
+			} catch (final InterruptedException | ClosedWatchServiceException ex) {
+				return;
+			}
+
+			final String folder = watchedFolders.get(key);
+
+			for (final WatchEvent<?> event : key.pollEvents()) {
+				if (folder == null || event.kind() == StandardWatchEventKinds.OVERFLOW)
+					continue;
+
+				final String fileName = event.context().toString();
+
+				if (!fileName.endsWith(".yml"))
+					continue;
+
+				synchronized (changedFiles) {
+					if (changedFiles.isEmpty())
+						Common.runLater(RELOAD_DELAY_TICKS, ArenaFileWatcher::reloadChanged);
+
+					changedFiles.add(folder + "/" + fileName.substring(0, fileName.length() - ".yml".length()));
+				}
+			}
+
+			key.reset();
+		}
+	}
+
+	/*
+	 * Reload all files changed since the last run
+	 */
+	private void reloadChanged() {
+		final Set<String> files;
+
+		synchronized (changedFiles) {
+			files = new LinkedHashSet<>(changedFiles);
+
+			changedFiles.clear();
+		}
+
+		for (final String file : files)
+			reload(file, true);
+	}
+
+	/*
+	 * Reload the given folder/name file if it changed, or defer it if it is in use
+	 */
+	private void reload(final String path, final boolean checkChanged) {
+		final String folder = path.substring(0, path.indexOf('/'));
+		final String name = path.substring(path.indexOf('/') + 1);
+		final File file = new File(SimplePlugin.getData(), path + ".yml");
+
+		if (checkChanged) {
+			final long checksum = file.exists() ? checksum(file) : -1;
+			final Long oldChecksum = checksums.put(path, checksum);
+
+			// Our own save or an editor touching the file without changes
+			if (oldChecksum != null && oldChecksum == checksum)
+				return;
+		}
+
+		if (isInUse(folder, name)) {
+			if (deferredFiles.add(path))
+				Common.log("File " + path + ".yml changed, it will be reloaded when its arena stops.");
+
+			return;
+		}
+
+		try {
+			if ("arenas".equals(folder))
+				ArenaManager.reloadArena(name);
+
+			else if ("classes".equals(folder))
+				ArenaClass.reloadClass(name);
+
+			else if ("teams".equals(folder))
+				ArenaTeam.reloadTeam(name);
+
+		} catch (final Throwable t) {
+			Common.error(t, "Failed to reload " + path + ".yml, fix the file and save it again");
+		}
+
+		// Reloading may have saved the file with defaults
+		checksums.put(path, file.exists() ? checksum(file) : -1);
+	}
+
+	/*
+	 * Return true if the given arena is not stopped, or the given class or team is used by a player
+	 */
+	private boolean isInUse(final String folder, final String name) {
+		if ("arenas".equals(folder)) {
+			final Arena arena = ArenaManager.findArena(name);
+
+			return arena != null && !arena.isStopped();
+		}
+
+		for (final Arena arena : ArenaManager.getArenas())
+			for (final ArenaPlayer cache : arena.getArenaPlayersInAllModes()) {
+				final ArenaClass arenaClass = cache.getArenaClass();
+				final ArenaTeam arenaTeam = cache.getArenaTeam();
+
+				if ("classes".equals(folder) && arenaClass != null && arenaClass.getName().equalsIgnoreCase(name))
+					return true;
+
+				if ("teams".equals(folder) && arenaTeam != null && arenaTeam.getName().equalsIgnoreCase(name))
+					return true;
+			}
+
+		return false;
+	}
+
+	/*
+	 * Calculate the checksum of the file content
+	 */
+	private long checksum(final File file) {
+		try {
+			final CRC32 crc = new CRC32();
+			crc.update(Files.readAllBytes(file.toPath()));
+
+			return crc.getValue();
+
+		} catch (final IOException ex) {
+			return -1;
+		}
+	}
+}
@@ -3,6 +3,7 @@ package org.mineacademy.arena.model;
 import java.util.Arrays;
 import java.util.List;
 
+import org.mineacademy.arena.perf.ArenaProfiler;
 import org.mineacademy.fo.TimeUtil;
 import org.mineacademy.fo.model.Countdown;
 
@@ -38,10 +39,24 @@ public class ArenaHeartbeat extends Countdown {
 	}
 
 	/**
-	 * Called automatically each tick 1 second by default
+	 * Attributes the tick to the arena in the profiler, override {@link #onArenaTick()} instead
 	 */
 	@Override
-	protected void onTick() {
+	protected final void onTick() {
+		final long start = ArenaProfiler.start();
+
+		try {
+			onArenaTick();
+
+		} finally {
+			ArenaProfiler.stop(arena, ArenaProfiler.Section.HEARTBEAT, start);
+		}
+	}
+
+	/**
+	 * Called automatically each tick 1 second by default
+	 */
+	protected void onArenaTick() {
 		final List<Integer> broadcastTimes = Arrays.asList(20, 30, 60);
 
 		if (getTimeLeft() % 120 == 0 || getTimeLeft() <= 10 || broadcastTimes.contains(getTimeLeft()))
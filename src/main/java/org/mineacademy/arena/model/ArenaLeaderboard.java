@@ -0,0 +1,326 @@
+package org.mineacademy.arena.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.mineacademy.arena.settings.Settings;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.collection.SerializedMap;
+import org.mineacademy.fo.remain.Remain;
+import org.mineacademy.fo.settings.YamlSectionConfig;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The best players by total points, wins in each arena type and highest mob arena wave.
+ *
+ * Each board shows the top {@link Settings.Leaderboard#SIZE} players, sorted,
+ * and is updated when a player's stats change or their data is loaded, so showing
+ * a page never needs to read all players. Boards are saved in leaderboards.db,
+ * not data.db, since players save data.db right away and we save through the
+ * {@link ArenaSaveQueue}. Call on the main thread, updates from other threads are moved there.
+ */
+public final class ArenaLeaderboard extends YamlSectionConfig {
+
+	/**
+	 * The board of total points
+	 */
+	public static final String POINTS = "points";
+
+	/**
+	 * The board of highest mob arena waves
+	 */
+	public static final String WAVE = "wave";
+
+	/**
+	 * How many more players than shown each board keeps, so that someone takes
+	 * the place of a player whose value dropped
+	 */
+	private static final int BACKFILL_FACTOR = 2;
+
+	/**
+	 * The file the boards are saved in
+	 */
+	private static final String FILE = "leaderboards.db";
+
+	/**
+	 * The singleton instance
+	 */
+	@Getter
+	private static final ArenaLeaderboard instance = new ArenaLeaderboard();
+
+	/**
+	 * Boards by their metric, see {@link #POINTS}, {@link #WAVE} and {@link #wins(String)}
+	 */
+	private final Map<String, Board> boards = new HashMap<>();
+
+	/**
+	 * Create and load the boards from leaderboards.db
+	 */
+	private ArenaLeaderboard() {
+		super("Leaderboards");
+
+		loadConfiguration(NO_DEFAULT, FILE);
+	}
+
+	/**
+	 * @see org.mineacademy.fo.settings.YamlConfig#onLoadFinish()
+	 */
+	@Override
+	protected void onLoadFinish() {
+		final SerializedMap saved = getMap("Boards");
+
+		boards.clear();
+
+		for (final Map.Entry<String, Object> entry : saved.entrySet())
+			boards.put(entry.getKey(), Board.deserialize(saved.getMap(entry.getKey())));
+	}
+
+	/**
+	 * Queue saving the boards, see {@link ArenaSaveQueue}
+	 */
+	@Override
+	public void save() {
+		ArenaSaveQueue.markDirty(this, FILE, this::snapshot);
+	}
+
+	/*
+	 * Put all boards into the config and return the content of leaderboards.db
+	 */
+	private String snapshot() {
+		final SerializedMap map = new SerializedMap();
+
+		for (final Map.Entry<String, Board> entry : boards.entrySet())
+			map.put(entry.getKey(), entry.getValue().serialize());
+
+		setNoSave("Boards", map);
+
+		return getConfig().saveToString();
+	}
+
+	// --------------------------------------------------------------------------------------------------------------
+	// Updating
+	// --------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Update the player's value on the given board, call when it changes
+	 *
+	 * @param metric
+	 * @param id
+	 * @param value
+	 */
+	public void update(final String metric, final UUID id, final double value) {
+
+		// Player data is loaded from the database asynchronously
+		if (!Bukkit.isPrimaryThread()) {
+			Common.runLater(() -> update(metric, id, value));
+
+			return;
+		}
+
+		Board board = boards.get(metric);
+
+		if (board == null) {
+			if (value <= 0)
+				return;
+
+			board = new Board();
+			boards.put(metric, board);
+		}
+
+		final Player player = Remain.getPlayerByUUID(id);
+
+		if (board.update(id, player != null ? player.getName() : null, value, Settings.Leaderboard.SIZE * BACKFILL_FACTOR))
+			save();
+	}
+
+	// --------------------------------------------------------------------------------------------------------------
+	// Reading
+	// --------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Return the board for the given metric, or null if nobody made it there yet
+	 *
+	 * @param metric
+	 * @return
+	 */
+	public Board getBoard(final String metric) {
+		return boards.get(metric);
+	}
+
+	/**
+	 * Return the metrics having a board
+	 *
+	 * @return
+	 */
+	public Set<String> getMetrics() {
+		return boards.keySet();
+	}
+
+	/**
+	 * Return the metric for wins in the given arena type
+	 *
+	 * @param type
+	 * @return
+	 */
+	public static String wins(final String type) {
+		return "wins_" + type;
+	}
+
+	// --------------------------------------------------------------------------------------------------------------
+	// Classes
+	// --------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * The best players for one metric, in order.
+	 *
+	 * The board keeps twice as many players as it shows. When a shown player's value
+	 * drops, for example after buying rewards with points, the next kept player moves
+	 * up to fill the place instead of leaving it to someone we never saw.
+	 */
+	public static final class Board {
+
+		/**
+		 * Players from the best to the worst
+		 */
+		private final NavigableSet<Entry> ranking = new TreeSet<>();
+
+		/**
+		 * The same players by their unique id
+		 */
+		private final Map<UUID, Entry> entries = new HashMap<>();
+
+		/*
+		 * Place the player according to the new value, keeping at most the given
+		 * amount of players, returning true if the board changed
+		 */
+		private boolean update(final UUID id, final String name, final double value, final int capacity) {
+			final Entry old = entries.get(id);
+
+			if (old != null && old.value == value && (name == null || name.equals(old.name)))
+				return false;
+
+			if (old != null) {
+				ranking.remove(old);
+				entries.remove(id);
+			}
+
+			final boolean fits = value > 0 && (ranking.size() < capacity || value > ranking.last().value);
+
+			if (fits) {
+				final Entry entry = new Entry(id, name != null ? name : old != null ? old.name : id.toString().substring(0, 8), value);
+
+				ranking.add(entry);
+				entries.put(id, entry);
+
+				while (ranking.size() > capacity)
+					entries.remove(ranking.pollLast().id);
+			}
+
+			return fits || old != null;
+		}
+
+		/**
+		 * Return the players on the given page, starting at 1, of those shown
+		 *
+		 * @param page
+		 * @param pageSize
+		 * @return
+		 */
+		public List<Entry> getPage(final int page, final int pageSize) {
+			final List<Entry> result = new ArrayList<>(pageSize);
+			final Iterator<Entry> it = ranking.iterator();
+
+			for (int skipped = 0; skipped < (page - 1) * pageSize && it.hasNext(); skipped++)
+				it.next();
+
+			for (int rank = (page - 1) * pageSize; it.hasNext() && result.size() < pageSize && rank < Settings.Leaderboard.SIZE; rank++)
+				result.add(it.next());
+
+			return result;
+		}
+
+		/**
+		 * Return how many players are shown, not counting those kept to fill places
+		 *
+		 * @return
+		 */
+		public int size() {
+			return Math.min(ranking.size(), Settings.Leaderboard.SIZE);
+		}
+
+		/*
+		 * Convert the board to save it
+		 */
+		private SerializedMap serialize() {
+			final SerializedMap players = new SerializedMap();
+
+			for (final Entry entry : ranking)
+				players.put(entry.id.toString(), SerializedMap.ofArray("Name", entry.name, "Value", entry.value));
+
+			return SerializedMap.ofArray("Players", players);
+		}
+
+		/*
+		 * Load a board saved by serialize()
+		 */
+		private static Board deserialize(final SerializedMap map) {
+			final Board board = new Board();
+			final SerializedMap players = map.getMap("Players");
+
+			for (final Map.Entry<String, Object> saved : players.entrySet()) {
+				final SerializedMap player = players.getMap(saved.getKey());
+				final Entry entry = new Entry(UUID.fromString(saved.getKey()), player.getString("Name"), player.getDouble("Value", 0D));
+
+				board.ranking.add(entry);
+				board.entries.put(entry.id, entry);
+			}
+
+			return board;
+		}
+	}
+
+	/**
+	 * A player's place on a board
+	 */
+	@Getter
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	public static final class Entry implements Comparable<Entry> {
+
+		/**
+		 * The player's unique id
+		 */
+		private final UUID id;
+
+		/**
+		 * The player's name when the value last changed while online
+		 */
+		private final String name;
+
+		/**
+		 * The player's value
+		 */
+		private final double value;
+
+		/**
+		 * Sort from the highest value, then by id so that equal values do not collide
+		 */
+		@Override
+		public int compareTo(final Entry other) {
+			final int byValue = Double.compare(other.value, value);
+
+			return byValue != 0 ? byValue : id.compareTo(other.id);
+		}
+	}
+}
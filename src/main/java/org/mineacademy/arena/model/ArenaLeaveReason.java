@@ -46,17 +46,17 @@ public enum ArenaLeaveReason {
 	/**
 	 * The player was the last man alive
 	 */
-	LAST_STANDING("Congratulations for winning the arena {arena}!", Flag.REWARD),
+	LAST_STANDING("Congratulations for winning the arena {arena}!", Flag.REWARD, Flag.WIN),
 
 	/**
 	 * The players team was the last one to survive
 	 */
-	LAST_TEAM_STANDING("Congratulations! Your team won the game!", Flag.REWARD),
+	LAST_TEAM_STANDING("Congratulations! Your team won the game!", Flag.REWARD, Flag.WIN),
 
 	/**
 	 * All other teams are gone
 	 */
-	OTHER_TEAMS_LEFT("All other teams have left the arena!", Flag.REWARD),
+	OTHER_TEAMS_LEFT("All other teams have left the arena!", Flag.REWARD, Flag.WIN),
 
 	/**
 	 * The team crystal got destroyed!
@@ -125,8 +125,18 @@ public enum ArenaLeaveReason {
 		return flags.contains(Flag.REWARD);
 	}
 
+	/**
+	 * Does the player win the game when leaving for this reason while still playing?
+	 *
+	 * @return
+	 */
+	public boolean isWin() {
+		return flags.contains(Flag.WIN);
+	}
+
 	private enum Flag {
 		REWARD,
-		SPECTATE
+		SPECTATE,
+		WIN
 	}
 }
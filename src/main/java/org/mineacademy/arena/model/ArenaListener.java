@@ -1,9 +1,7 @@
 package org.mineacademy.arena.model;
 
-import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.block.Block;
-import org.bukkit.block.BlockFace;
 import org.bukkit.entity.*;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.EventHandler;
@@ -16,25 +14,27 @@ import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.player.*;
 import org.bukkit.event.vehicle.*;
 import org.bukkit.metadata.MetadataValue;
+import org.mineacademy.arena.journal.JournalEvent;
+import org.mineacademy.arena.journal.MatchJournal;
 import org.mineacademy.arena.mysql.ArenaDatabase;
+import org.mineacademy.arena.perf.ArenaMetrics;
+import org.mineacademy.arena.perf.ArenaTimings;
 import org.mineacademy.arena.settings.Settings;
+import org.mineacademy.arena.task.EscapeTask;
 import org.mineacademy.arena.util.ArenaUtil;
 import org.mineacademy.arena.util.Constants;
 import org.mineacademy.fo.Common;
 import org.mineacademy.fo.Messenger;
 import org.mineacademy.fo.Valid;
-import org.mineacademy.fo.collection.SerializedMap;
 import org.mineacademy.fo.collection.StrictSet;
 import org.mineacademy.fo.event.RocketExplosionEvent;
 import org.mineacademy.fo.exception.EventHandledException;
 import org.mineacademy.fo.menu.Menu;
-import org.mineacademy.fo.region.Region;
 import org.mineacademy.fo.remain.CompMaterial;
 import org.mineacademy.fo.remain.CompMetadata;
 import org.mineacademy.fo.remain.Remain;
 import org.mineacademy.fo.settings.SimpleSettings;
 
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.BiConsumer;
@@ -49,6 +49,11 @@ public final class ArenaListener implements Listener {
 	 */
 	private final static StrictSet<String> ENTITY_TYPE_MANIPULATION_BLACKLIST = new StrictSet<>("ITEM_FRAME", "PAINTING", "ARMOR_STAND", "LEASH_HITCH");
 
+	/**
+	 * Reused to tell if teleports and vehicles cross an arena border
+	 */
+	private final ArenaBorderCrossing crossing = new ArenaBorderCrossing();
+
 	public ArenaListener() {
 		registerCompatibleEvent("org.bukkit.event.entity.EntityBreedEvent", new EntityBreedListener());
 		registerCompatibleEvent("org.bukkit.event.entity.SpawnerSpawnEvent", new SpawnerSpawnListener());
@@ -67,7 +72,7 @@ public final class ArenaListener implements Listener {
 		try {
 			Class.forName(classPath);
 
-			Common.registerEvents(listener);
+			ArenaTimings.registerEvents(listener);
 		} catch (final ClassNotFoundException ex) {
 			// Do nothing event does not exist
 		}
@@ -88,7 +93,16 @@ public final class ArenaListener implements Listener {
 		final Arena arena = ArenaManager.findArena(player.getLocation());
 
 		// Load his database data
-		Common.runLaterAsync(() -> ArenaDatabase.load(player));
+		ArenaMetrics.onDatabaseTaskQueued();
+
+		Common.runLaterAsync(() -> {
+			try {
+				ArenaDatabase.load(player);
+
+			} finally {
+				ArenaMetrics.onDatabaseTaskDone();
+			}
+		});
 
 		// Add an invisible tag containing the time now, used for teleport exemption
 		CompMetadata.setTempMetadata(player, "JoinTime", System.currentTimeMillis());
@@ -121,11 +135,20 @@ public final class ArenaListener implements Listener {
 			arena.leavePlayer(player, ArenaLeaveReason.DISCONNECT);
 		}
 
+		ArenaMatchmaker.dequeue(player);
+
 		// Save his database data
+		ArenaMetrics.onDatabaseTaskQueued();
+
 		Common.runLaterAsync(() -> {
-			ArenaDatabase.save(player);
+			try {
+				ArenaDatabase.save(player);
 
-			ArenaPlayer.clearDataFor(player);
+				ArenaPlayer.clearDataFor(player);
+
+			} finally {
+				ArenaMetrics.onDatabaseTaskDone();
+			}
 		});
 	}
 
@@ -180,6 +203,7 @@ public final class ArenaListener implements Listener {
 
 			Common.runLater(() -> {
 				try {
+					cache.getArena().runPendingStart(player);
 					cache.getArena().onPlayerRespawn(player, cache);
 
 				} catch (final ArenaPipelineEndException ex) {
@@ -197,31 +221,25 @@ public final class ArenaListener implements Listener {
 	@EventHandler
 	public void onChat(final AsyncPlayerChatEvent event) {
 		final Player player = event.getPlayer();
-		final ArenaPlayer cache = ArenaPlayer.getCache(player);
-		final ArenaJoinMode mode = cache.getMode();
-
-		if (cache.hasArena() && mode != ArenaJoinMode.EDITING) {
-
-			if (mode == ArenaJoinMode.SPECTATING) {
-				Messenger.error(player, "You cannot chat while spectating an arena!");
+		final Arena arena = ArenaManager.findArenaAsync(player);
 
-				event.setCancelled(true);
-			} else {
-				final Arena arena = cache.getArena();
+		if (arena == null)
+			return;
 
-				// You can use this lambda expression instead of the for loop below
-				event.getRecipients().removeIf(recipient -> arena.findPlayer(recipient) == null);
+		// Read the snapshot once so all checks see the same arena state
+		final ArenaMembership membership = arena.getMembership();
+		final ArenaJoinMode mode = membership.getMode(player.getUniqueId());
 
-				/*for (final Iterator<Player> it = event.getRecipients().iterator(); it.hasNext();) {
-					final Player recipient = it.next();
+		if (mode == null || mode == ArenaJoinMode.EDITING)
+			return;
 
-					if (arena.findPlayer(recipient) == null)
-						it.remove();
-				}*/
+		if (mode == ArenaJoinMode.SPECTATING) {
+			Messenger.error(player, "You cannot chat while spectating an arena!");
 
-				final ChatColor teamColor = arena.hasTeams() && arena.getState() == ArenaState.PLAYED ? cache.getArenaTeam().getColor() : ChatColor.WHITE;
-				event.setFormat(Common.colorize("&8[&6Arena " + arena.getName() + "&8] " + teamColor + player.getName() + ": &7" + event.getMessage()));
-			}
+			event.setCancelled(true);
+		} else {
+			event.getRecipients().removeIf(recipient -> !membership.isMember(recipient.getUniqueId()));
+			event.setFormat(membership.getChatFormat(player.getUniqueId()));
 		}
 	}
 
@@ -275,11 +293,15 @@ public final class ArenaListener implements Listener {
 					player.updateInventory();
 				}
 
+				final long timing = ArenaTimings.start();
+
 				try {
 					arena.onClick(player, action, event);
 
 				} catch (final EventHandledException ex) {
 					// Handled
+				} finally {
+					ArenaTimings.stop(arena, "onClick", timing);
 				}
 
 				return;
@@ -453,10 +475,10 @@ public final class ArenaListener implements Listener {
 				if (!cache.hasArena() || cache.getMode() == ArenaJoinMode.SPECTATING)
 					event.setCancelled(true);
 
-			} else {
-				final Arena involvedArena = ArenaManager.findArena(involvedEntity.getLocation());
+			} else if (involvedEntity != null) {
+				crossing.classify(ArenaManager.findArena(involvedEntity.getLocation()), arena);
 
-				if (involvedArena == null || !involvedArena.equals(arena))
+				if (crossing.has(ArenaBorderCrossing.ENTERING))
 					event.setCancelled(true);
 			}
 		}
@@ -521,19 +543,28 @@ public final class ArenaListener implements Listener {
 						return;
 					}
 
+					final long timing = ArenaTimings.start();
+
 					try {
 						victimArena.onPvP((Player) attacker, (Player) victim, event);
 					} catch (final ArenaPipelineEndException ex) {
 						// Handled
+					} finally {
+						ArenaTimings.stop(victimArena, "onPvP", timing);
 					}
 
-				} else
+				} else {
+					final long timing = ArenaTimings.start();
+
 					try {
 						victimArena.onPlayerDamage((Player) attacker, victim, event);
 
 					} catch (final ArenaPipelineEndException ex) {
 						// Handled
+					} finally {
+						ArenaTimings.stop(victimArena, "onPlayerDamage", timing);
 					}
+				}
 			}
 
 			if (ENTITY_TYPE_MANIPULATION_BLACKLIST.contains(victim.getType().toString()) && !victimArena.isEdited())
@@ -552,10 +583,14 @@ public final class ArenaListener implements Listener {
 				}
 			}
 
+			final long timing = ArenaTimings.start();
+
 			try {
 				victimArena.onDamage(attacker, victim, event);
 			} catch (final ArenaPipelineEndException ex) {
 				// Handled
+			} finally {
+				ArenaTimings.stop(victimArena, "onDamage", timing);
 			}
 		}
 	}
@@ -624,12 +659,17 @@ public final class ArenaListener implements Listener {
 	private void preventBlockGrief(final Location centerLocation, final List<Block> blocks, final Cancellable event) {
 		final Arena centerArena = ArenaManager.findArena(centerLocation);
 
-		if (centerArena != null)
+		if (centerArena != null) {
+			final long timing = ArenaTimings.start();
+
 			try {
 				centerArena.onExplosion(centerLocation, blocks, event);
 			} catch (final ArenaPipelineEndException ex) {
 				// Handled
+			} finally {
+				ArenaTimings.stop(centerArena, "onExplosion", timing);
 			}
+		}
 
 		for (final Iterator<Block> it = blocks.iterator(); it.hasNext();) {
 			final Block block = it.next();
@@ -731,11 +771,15 @@ public final class ArenaListener implements Listener {
 				}
 			}
 
+			final long timing = ArenaTimings.start();
+
 			try {
 				arena.onDamage(victim, event);
 
 			} catch (final ArenaPipelineEndException ex) {
 				// Handled
+			} finally {
+				ArenaTimings.stop(arena, "onDamage", timing);
 			}
 		}
 	}
@@ -766,6 +810,8 @@ public final class ArenaListener implements Listener {
 				event.setDroppedExp(0);
 				event.getDrops().clear();
 
+				MatchJournal.record(JournalEvent.KILL, arena, killer.getName(), victim instanceof Player ? victim.getName() : victim.getType().name());
+
 				try {
 					arena.onPlayerKill(killer, victim);
 
@@ -776,47 +822,6 @@ public final class ArenaListener implements Listener {
 		}
 	}
 
-	/**
-	 * Prevent monsters spawning in stopped arenas
-	 *
-	 * @param event
-	 */
-	@EventHandler
-	public void onCreatureSpawn(final CreatureSpawnEvent event) {
-		final Arena arena = ArenaManager.findArena(event.getLocation());
-
-		if (arena != null) {
-			if (!arena.isPlayed() && !arena.isEdited()) {
-				event.setCancelled(true);
-
-				return;
-			}
-
-			final Region region = arena.getSettings().getRegion();
-
-			if (region != null && region.isWhole()) {
-				int creatures = 0;
-
-				for (final Entity entity : region.getEntities())
-					if (entity instanceof Creature)
-						creatures++;
-
-				if (creatures >= arena.getSettings().getMaxCreatures())
-					event.setCancelled(true);
-			}
-		}
-	}
-
-	/**
-	 * Prevent item spawning in stopped arenas
-	 *
-	 * @param event
-	 */
-	@EventHandler
-	public void onItemSpawn(final ItemSpawnEvent event) {
-		cancelIfInStoppedOrLobby(event.getLocation(), event);
-	}
-
 	/**
 	 * Prevent dispensors shooting blocks in stopped arenas
 	 *
@@ -865,26 +870,6 @@ public final class ArenaListener implements Listener {
 		}
 	}
 
-	/**
-	 * Prevent any block forming such as ice in arenas what-so-ever
-	 *
-	 * @param event
-	 */
-	@EventHandler
-	public void onBlockForm(final BlockFormEvent event) {
-		cancelIfInArena(event.getBlock().getLocation(), event);
-	}
-
-	/**
-	 * Prevent any block spread such as fire burning in arenas what-so-ever
-	 *
-	 * @param event
-	 */
-	@EventHandler
-	public void onBlockSpread(final BlockSpreadEvent event) {
-		cancelIfInArena(event.getBlock().getLocation(), event);
-	}
-
 	/**
 	 * Prevent zombies from breaking doors!
 	 *
@@ -999,62 +984,6 @@ public final class ArenaListener implements Listener {
 			event.setCancelled(true);
 	}
 
-	/**
-	 * Prevent piston abuse in arenas
-	 *
-	 * @param event
-	 */
-	@EventHandler
-	public void onPistonExtend(final BlockPistonExtendEvent event) {
-		preventPistonMovement(event, event.getBlocks());
-	}
-
-	/**
-	 * Prevent piston abuse in arenas
-	 *
-	 * @param event
-	 */
-	@EventHandler
-	public void onPistonRetract(final BlockPistonRetractEvent event) {
-		try {
-			preventPistonMovement(event, event.getBlocks());
-		} catch (final NoSuchMethodError ex) {
-			// Old MC lack the event.getBlocks method
-		}
-	}
-
-	/**
-	 * Calculate if the blocks being pushed/pulled by piston cross an arena border
-	 * and cancel the event if they do
-	 *
-	 * @param event
-	 * @param blocks
-	 */
-	private void preventPistonMovement(final BlockPistonEvent event, List<Block> blocks) {
-		final BlockFace direction = event.getDirection();
-		final Arena pistonArena = ArenaManager.findArena(event.getBlock().getLocation());
-
-		// Clone the list otherwise it wont work
-		blocks = new ArrayList<>(blocks);
-
-		// Calculate blocks ONE step ahed in the push/pull direction
-		for (int i = 0; i < blocks.size(); i++) {
-			final Block block = blocks.get(i);
-
-			blocks.set(i, block.getRelative(direction));
-		}
-
-		for (final Block block : blocks) {
-			final Arena arena = ArenaManager.findArena(block.getLocation());
-
-			if (arena != null && pistonArena == null || arena == null && pistonArena != null) {
-				event.setCancelled(true);
-
-				break;
-			}
-		}
-	}
-
 	/**
 	 * Prevent building in stopped non edited arenas
 	 *
@@ -1095,6 +1024,8 @@ public final class ArenaListener implements Listener {
 			if (arenaPlayer == null)
 				Messenger.warn(player, "You cannot build unless you do /arena edit first.");
 
+			final long timing = ArenaTimings.start();
+
 			try {
 				if (place)
 					arena.onBlockPlace(player, block, (BlockPlaceEvent) event);
@@ -1102,6 +1033,8 @@ public final class ArenaListener implements Listener {
 					arena.onBlockBreak(player, block, (BlockBreakEvent) event);
 			} catch (final ArenaPipelineEndException ex) {
 				// Handled
+			} finally {
+				ArenaTimings.stop(arena, place ? "onBlockPlace" : "onBlockBreak", timing);
 			}
 		}
 	}
@@ -1175,38 +1108,38 @@ public final class ArenaListener implements Listener {
 	// ------–------–------–------–------–------–------–------–------–------–------–------–
 
 	/**
-	 * Prevent liquids flowing in from/to arenas and prevent dragon egg being teleported
+	 * Prevent entities such as endermen from moving/entering arenas
 	 *
 	 * @param event
 	 */
-	public void onBlockTeleport(BlockFromToEvent event) {
-		final Block block = event.getBlock();
+	@EventHandler(ignoreCancelled = true)
+	public void onTeleport(final EntityTeleportEvent event) {
+		final Entity entity = event.getEntity();
 
-		event.setCancelled(true);
+		if (entity instanceof Player)
+			return;
 
-		final SerializedMap moveData = calculateMoveData(block.getLocation(), event.getToBlock().getLocation());
-		final Arena fromArena = ArenaManager.findArena(moveData.getString("from"));
+		crossing.classify(event.getFrom(), event.getTo());
 
-		if (moveData.getBoolean("leaving") || moveData.getBoolean("entering") || (fromArena != null && block.getType() == CompMaterial.DRAGON_EGG.getMaterial()))
+		if (crossing.crossesBorder())
 			event.setCancelled(true);
 	}
 
 	/**
-	 * Prevent entities such as endermen from moving/entering arenas
+	 * Kick players walking out of their played arena as soon as they step on a new block
 	 *
 	 * @param event
 	 */
 	@EventHandler(ignoreCancelled = true)
-	public void onTeleport(final EntityTeleportEvent event) {
-		final Entity entity = event.getEntity();
+	public void onMove(final PlayerMoveEvent event) {
+		final Location from = event.getFrom();
+		final Location to = event.getTo();
 
-		if (entity instanceof Player)
+		// Most moves are just head rotation or within the same block
+		if (to == null || (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY() && from.getBlockZ() == to.getBlockZ()))
 			return;
 
-		final SerializedMap moveData = calculateMoveData(event.getFrom(), event.getFrom());
-
-		if (moveData.getBoolean("leaving") || moveData.getBoolean("entering"))
-			event.setCancelled(true);
+		EscapeTask.checkEscape(event.getPlayer(), to);
 	}
 
 	/**
@@ -1228,14 +1161,15 @@ public final class ArenaListener implements Listener {
 		if (CompMetadata.hasTempMetadata(player, Constants.Tag.TELEPORT_EXEMPTION))
 			return;
 
-		final SerializedMap moveData = calculateMoveData(event.getFrom(), event.getTo(), player);
 		final ArenaPlayer cache = ArenaPlayer.getCache(player);
 		String errorMessage = null;
 
 		if ((cache.hasArena() && cache.getArena().isStopping()) || cache.isLeavingArena())
 			return;
 
-		if (!cache.hasArena() && moveData.getBoolean("toIsArena")) {
+		crossing.classify(cache.hasArena() ? cache.getArena() : null, ArenaManager.findArena(event.getTo()));
+
+		if (!cache.hasArena() && crossing.has(ArenaBorderCrossing.TO_ARENA)) {
 			// Must ignore teleports until 0.5 seconds have passed since the played joined due to Spigot/Bukkit behavior
 			final MetadataValue joinTime = CompMetadata.getTempMetadata(player, "JoinTime");
 			final long joinDuration = System.currentTimeMillis() - (joinTime != null ? joinTime.asLong() : 0);
@@ -1244,10 +1178,10 @@ public final class ArenaListener implements Listener {
 				errorMessage = "You cannot teleport into the arena unless you edit it with /arena edit";
 
 		} else if (cache.hasArena() && cache.getMode() != ArenaJoinMode.EDITING) {
-			if (moveData.getBoolean("leaving"))
+			if (crossing.has(ArenaBorderCrossing.LEAVING))
 				errorMessage = "You cannot teleport away from your arena unless you leave with /arena leave first.";
 
-			else if (moveData.getBoolean("entering"))
+			else if (crossing.has(ArenaBorderCrossing.ENTERING))
 				errorMessage = "Your destination is an arena. Edit it with /arena edit first.";
 		}
 
@@ -1258,43 +1192,6 @@ public final class ArenaListener implements Listener {
 		}
 	}
 
-	/**
-	 * See {@link #calculateMoveData(Location, Location, Player)}
-	 *
-	 * @param from
-	 * @param to
-	 * @return
-	 */
-	private SerializedMap calculateMoveData(final Location from, final Location to) {
-		return calculateMoveData(from, to, null);
-	}
-
-	/**
-	 * Creates a map of data containing information if the player is entering an arena, leaving it,
-	 * the arena names and if both of these cases exist
-	 *
-	 * @param from
-	 * @param to
-	 * @param fromPlayer
-	 * @return
-	 */
-	private SerializedMap calculateMoveData(final Location from, final Location to, final Player fromPlayer) {
-		final Arena arenaFrom = fromPlayer != null ? ArenaManager.findArena(fromPlayer) : ArenaManager.findArena(from);
-		final Arena arenaTo = ArenaManager.findArena(to);
-
-		final boolean isLeaving = arenaFrom != null && (arenaTo == null || !arenaFrom.equals(arenaTo));
-		final boolean isEntering = arenaTo != null && (arenaFrom == null || !arenaTo.equals(arenaFrom));
-
-		return SerializedMap.ofArray(
-				"to", arenaTo != null ? arenaTo.getName() : "",
-				"from", arenaFrom != null ? arenaFrom.getName() : "",
-				"toIsArena", arenaTo != null,
-				"fromIsArena", arenaFrom != null,
-				"leaving", isLeaving,
-				"entering", isEntering);
-
-	}
-
 	// ------–------–------–------–------–------–------–------–------–------–------–------–
 	// Utilities
 	// ------–------–------–------–------–------–------–------–------–------–------–------–
@@ -1406,11 +1303,15 @@ public final class ArenaListener implements Listener {
 					return;
 				}
 
+				final long timing = ArenaTimings.start();
+
 				try {
 					arena.onEntityClick(player, entity, event);
 
 				} catch (final ArenaPipelineEndException ex) {
 					// Handled
+				} finally {
+					ArenaTimings.stop(arena, "onEntityClick", timing);
 				}
 			}
 		}
@@ -4,7 +4,9 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.bukkit.Location;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -16,6 +18,7 @@ import org.mineacademy.fo.ReflectionUtil.ReflectionException;
 import org.mineacademy.fo.Valid;
 import org.mineacademy.fo.collection.StrictMap;
 import org.mineacademy.fo.exception.FoException;
+import org.mineacademy.fo.plugin.SimplePlugin;
 import org.mineacademy.fo.region.Region;
 
 import lombok.NonNull;
@@ -30,9 +33,9 @@ public final class ArenaManager {
 	private final StrictMap<String, Class<? extends Arena>> registeredTypes = new StrictMap<>();
 
 	/**
-	 * The list of loaded arenas
+	 * The list of loaded arenas, copied on change so async threads can iterate it
 	 */
-	private final List<Arena> loadedArenas = new ArrayList<>();
+	private final List<Arena> loadedArenas = new CopyOnWriteArrayList<>();
 
 	/**
 	 * Register a new valid arena type
@@ -76,20 +79,28 @@ public final class ArenaManager {
 	 * Loads all arenas in the arenas/ file. Old arenas in our memory are trashed.
 	 */
 	public void loadArenas() {
+		// Write pending changes so that they are not lost or written by old instances later
+		ArenaSaveQueue.flush();
 		loadedArenas.clear();
 
 		final File[] arenaFiles = FileUtil.getFiles("arenas", "yml");
 
-		for (final File arenaFile : arenaFiles) {
+		// Types are read in parallel or from cache, arenas must be created on the main thread
+		for (final Map.Entry<File, String> entry : ArenaTypeCache.detectTypes(arenaFiles).entrySet()) {
+			final File arenaFile = entry.getKey();
 			final String name = FileUtil.getFileName(arenaFile);
-			final String type = detectArenaType(arenaFile);
+			final String type = entry.getValue() != null ? entry.getValue() : detectArenaType(arenaFile);
 
 			loadOrCreateArena(name, type);
 		}
+
+		ArenaWarmPool.refill();
+		ArenaWorldListener.update();
 	}
 
 	/*
-	 * Pre-load the arena file to detect its type
+	 * Pre-load the arena file to detect its type, used when the type
+	 * could not be read quickly
 	 */
 	private String detectArenaType(final File file) {
 		final FileConfiguration config = FileUtil.loadConfigurationStrict(file);
@@ -137,6 +148,50 @@ public final class ArenaManager {
 		return null;
 	}
 
+	/**
+	 * Reload a single stopped arena from its file, load it if it is new
+	 * or unload it if its file has been removed
+	 *
+	 * @param name
+	 */
+	public void reloadArena(final String name) {
+		final Arena oldArena = findArena(name);
+		Valid.checkBoolean(oldArena == null || oldArena.isStopped(), "Cannot reload arena " + name + " while it is " + (oldArena != null ? oldArena.getState() : null));
+
+		final File file = new File(SimplePlugin.getData(), "arenas/" + name + ".yml");
+		final int index = oldArena != null ? loadedArenas.indexOf(oldArena) : -1;
+
+		if (oldArena != null) {
+			ArenaSaveQueue.flush(oldArena.getSettings());
+
+			oldArena.unload();
+			loadedArenas.remove(oldArena);
+		}
+
+		Arena arena = null;
+
+		if (file.exists()) {
+			arena = loadOrCreateArena(name, detectArenaType(file));
+
+			// Keep the arena at its original position
+			if (arena != null && index != -1) {
+				loadedArenas.remove(arena);
+				loadedArenas.add(index, arena);
+			}
+
+		} else
+			Common.log("[-] Unloaded arena " + name);
+
+		// The type may have changed, update the pools of both
+		if (oldArena != null)
+			ArenaWarmPool.refill(oldArena.getType());
+
+		if (arena != null)
+			ArenaWarmPool.refill(arena.getType());
+
+		ArenaWorldListener.update();
+	}
+
 	/**
 	 * Remove an arena by its name
 	 *
@@ -158,8 +213,14 @@ public final class ArenaManager {
 		if (!arena.isStopped())
 			arena.stopArena(ArenaStopReason.PLUGIN);
 
+		ArenaSaveQueue.discard(arena.getSettings());
 		arena.getSettings().delete();
+
+		arena.unload();
 		loadedArenas.remove(arena);
+
+		ArenaWarmPool.refill(arena.getType());
+		ArenaWorldListener.update();
 	}
 
 	/**
@@ -192,7 +253,19 @@ public final class ArenaManager {
 	 * @param location
 	 */
 	public Arena findArena(@NonNull final Location location) {
-		for (final Arena arena : loadedArenas) {
+		return findArena(loadedArenas, location);
+	}
+
+	/**
+	 * Get the arena at the given location among the given arenas,
+	 * public so that benchmarks measure the same lookup
+	 *
+	 * @param arenas
+	 * @param location
+	 * @return
+	 */
+	public Arena findArena(@NonNull final Iterable<Arena> arenas, @NonNull final Location location) {
+		for (final Arena arena : arenas) {
 			final Region region = arena.getSettings().getRegion();
 
 			if (region != null && region.isWhole() && region.isWithin(location))
@@ -217,6 +290,21 @@ public final class ArenaManager {
 		return cache.hasArena() ? cache.getArena() : null;
 	}
 
+	/**
+	 * Return the arena the player is in using arena membership snapshots,
+	 * safe to call from async threads such as chat
+	 *
+	 * @param player
+	 * @return
+	 */
+	public Arena findArenaAsync(@NonNull final Player player) {
+		for (final Arena arena : loadedArenas)
+			if (arena.getMembership().isMember(player.getUniqueId()))
+				return arena;
+
+		return null;
+	}
+
 	/**
 	 * Get all loaded arenas of the given arena class
 	 *
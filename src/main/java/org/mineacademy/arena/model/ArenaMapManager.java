@@ -4,8 +4,11 @@ import java.util.List;
 
 import org.bukkit.Location;
 import org.bukkit.block.Block;
+import org.mineacademy.arena.perf.ArenaMetrics;
+import org.mineacademy.arena.perf.ArenaProfiler;
 import org.mineacademy.fo.Common;
 import org.mineacademy.fo.collection.StrictMap;
+import org.mineacademy.fo.collection.StrictSet;
 import org.mineacademy.fo.model.ChunkedTask;
 import org.mineacademy.fo.region.Region;
 
@@ -34,6 +37,11 @@ public final class ArenaMapManager {
 	 */
 	private final StrictMap<String, Clipboard> savedClipboards = new StrictMap<>();
 
+	/**
+	 * Names of arenas whose region is being restored right now
+	 */
+	private final StrictSet<String> restoredArenas = new StrictSet<>();
+
 	/**
 	 * Saves the arena region if it can be saved
 	 *
@@ -79,6 +87,16 @@ public final class ArenaMapManager {
 					return operation != null;
 				}
 
+				/**
+				 * Attribute the batch to the arena in the profiler
+				 */
+				@Override
+				protected String getProcessMessage(long initialTime, int processed) {
+					ArenaProfiler.recordSince(arena, ArenaProfiler.Section.MAP_RESTORE, initialTime);
+
+					return super.getProcessMessage(initialTime, processed);
+				}
+
 			}.startChain();
 		}
 
@@ -97,6 +115,11 @@ public final class ArenaMapManager {
 		if (clipboard == null)
 			return;
 
+		// Added before the task starts since it may finish right away, removed below if starting fails
+		restoredArenas.add(arena.getName());
+
+		final long startMillis = System.currentTimeMillis();
+
 		try (EditSession editSession = createSession(new BukkitWorld(region.getWorld()))) {
 			final List<BlockVector3> vectors = Common.convert(region.getBlocks(), (block) -> toVector(block));
 
@@ -125,7 +148,15 @@ public final class ArenaMapManager {
 				 */
 				@Override
 				protected void onFinish() {
-					editSession.flushSession();
+					try {
+						editSession.flushSession();
+
+					} finally {
+						restoredArenas.remove(arena.getName());
+					}
+
+					ArenaMetrics.recordMapRestore(System.currentTimeMillis() - startMillis);
+					ArenaWarmPool.onRestoreFinish(arena);
 				}
 
 				/**
@@ -139,7 +170,8 @@ public final class ArenaMapManager {
 				}
 
 				/**
-				 * Also show percentage how many blocks we have restored to finish
+				 * Also show percentage how many blocks we have restored to finish,
+				 * and attribute the batch to the arena in the profiler
 				 *
 				 * @param initialTime
 				 * @param processed
@@ -147,14 +179,30 @@ public final class ArenaMapManager {
 				 */
 				@Override
 				protected String getProcessMessage(long initialTime, int processed) {
+					ArenaProfiler.recordSince(arena, ArenaProfiler.Section.MAP_RESTORE, initialTime);
+
 					final long progress = Math.round(((double) getCurrentIndex() / (double) vectors.size()) * 100);
 
 					return "[" + progress + "%] " + super.getProcessMessage(initialTime, processed);
 				}
 
 			}.startChain();
+
+		} catch (final Throwable t) {
+			restoredArenas.remove(arena.getName());
+
+			throw t;
 		}
+	}
 
+	/**
+	 * Return if the region of the given arena is being restored right now
+	 *
+	 * @param arena
+	 * @return
+	 */
+	public boolean isRegionBeingRestored(Arena arena) {
+		return restoredArenas.contains(arena.getName());
 	}
 
 	/*
@@ -0,0 +1,260 @@
+package org.mineacademy.arena.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+import org.bukkit.entity.Player;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.Messenger;
+import org.mineacademy.fo.Valid;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Places queued players into the best arena of the type they want to play,
+ * preferring arenas in lobby that are the most filled so games start sooner
+ */
+@UtilityClass
+public final class ArenaMatchmaker {
+
+	/**
+	 * The order in which arenas are picked: arenas in lobby first, then the
+	 * most filled ones, then the ones with the most free slots
+	 */
+	private final Comparator<Arena> PLACEMENT_ORDER = Comparator
+			.comparingInt((Arena arena) -> arena.getState() == ArenaState.LOBBY ? 0 : 1)
+			.thenComparingDouble(arena -> -getFillRatio(arena))
+			.thenComparingInt(arena -> -getFreeSlots(arena));
+
+	/**
+	 * Groups of players waiting for an arena, by arena type, in the order they queued
+	 */
+	private final Map<String, List<List<Player>>> queues = new HashMap<>();
+
+	/**
+	 * Party members placed in an arena together, by each member's unique id
+	 */
+	private final Map<UUID, List<UUID>> parties = new HashMap<>();
+
+	/**
+	 * Queue the player for the given arena type
+	 *
+	 * @param player
+	 * @param type
+	 */
+	public void queue(final Player player, final String type) {
+		queue(Arrays.asList(player), type);
+	}
+
+	/**
+	 * Queue the party for the given arena type, all members will be placed
+	 * into the same arena
+	 *
+	 * @param party
+	 * @param type
+	 */
+	public void queue(final List<Player> party, final String type) {
+		Valid.checkBoolean(ArenaManager.hasArenaType(type), "Arena type " + type + " not supported. Available: " + ArenaManager.getArenaTypes());
+		Valid.checkBoolean(!party.isEmpty(), "Cannot queue an empty party for " + type);
+
+		for (final Player player : party) {
+			Valid.checkBoolean(!isQueued(player), "Player " + player.getName() + " is already queued for " + findQueuedType(player));
+			Valid.checkBoolean(!ArenaPlayer.getCache(player).hasArena(), "Player " + player.getName() + " is already in an arena");
+		}
+
+		queues.computeIfAbsent(type, key -> new ArrayList<>()).add(new ArrayList<>(party));
+
+		process(type);
+	}
+
+	/**
+	 * Remove the player and his party from the queue
+	 *
+	 * @param player
+	 * @return true if the player was queued
+	 */
+	public boolean dequeue(final Player player) {
+		for (final List<List<Player>> queue : queues.values())
+			for (final Iterator<List<Player>> it = queue.iterator(); it.hasNext();) {
+				final List<Player> group = it.next();
+
+				if (group.contains(player)) {
+					it.remove();
+
+					for (final Player member : group)
+						if (!member.equals(player) && member.isOnline())
+							Messenger.warn(member, player.getName() + " has left the queue, your party is no longer queued.");
+
+					return true;
+				}
+			}
+
+		return false;
+	}
+
+	/**
+	 * Return true if the player is waiting in a queue
+	 *
+	 * @param player
+	 * @return
+	 */
+	public boolean isQueued(final Player player) {
+		return findQueuedType(player) != null;
+	}
+
+	/**
+	 * Return the arena type the player is queued for, or null if not queued
+	 *
+	 * @param player
+	 * @return
+	 */
+	public String findQueuedType(final Player player) {
+		for (final Map.Entry<String, List<List<Player>>> entry : queues.entrySet())
+			for (final List<Player> group : entry.getValue())
+				if (group.contains(player))
+					return entry.getKey();
+
+		return null;
+	}
+
+	/**
+	 * Return how many players are waiting for the given arena type
+	 *
+	 * @param type
+	 * @return
+	 */
+	public int getQueuedPlayers(final String type) {
+		int count = 0;
+
+		for (final List<Player> group : queues.getOrDefault(type, new ArrayList<>()))
+			count += group.size();
+
+		return count;
+	}
+
+	/**
+	 * Return unique ids of party members the player was placed with into his arena,
+	 * including him, or an empty list if he came alone
+	 *
+	 * @param player
+	 * @return
+	 */
+	public List<UUID> getParty(final Player player) {
+		final List<UUID> party = parties.get(player.getUniqueId());
+
+		return party != null ? Collections.unmodifiableList(party) : new ArrayList<>();
+	}
+
+	/**
+	 * Called automatically when the player leaves his arena, removing him from his party
+	 *
+	 * @param player
+	 */
+	public void onArenaLeave(final Player player) {
+		final List<UUID> party = parties.remove(player.getUniqueId());
+
+		if (party != null)
+			party.remove(player.getUniqueId());
+	}
+
+	/**
+	 * Try placing queued players for all arena types, called automatically
+	 * when an arena becomes available
+	 */
+	public void processAll() {
+		for (final String type : new ArrayList<>(queues.keySet()))
+			process(type);
+	}
+
+	/*
+	 * Place as many queued groups for the given type as possible, in the order they queued
+	 */
+	private void process(final String type) {
+		final List<List<Player>> queue = queues.get(type);
+
+		if (queue == null)
+			return;
+
+		for (final Iterator<List<Player>> it = queue.iterator(); it.hasNext();) {
+			final List<Player> group = it.next();
+
+			group.removeIf(player -> !player.isOnline() || ArenaPlayer.getCache(player).hasArena());
+
+			if (group.isEmpty()) {
+				it.remove();
+
+				continue;
+			}
+
+			// Larger groups may not fit yet, smaller ones behind them may
+			final Arena arena = findBestArena(type, group.size());
+
+			if (arena != null) {
+				it.remove();
+
+				place(group, arena);
+			}
+		}
+	}
+
+	/*
+	 * Find the best arena for a group of the given size or null if none has enough free slots
+	 */
+	private Arena findBestArena(final String type, final int size) {
+		final PriorityQueue<Arena> candidates = new PriorityQueue<>(PLACEMENT_ORDER);
+
+		for (final Arena arena : ArenaManager.getArenas())
+			if (arena.getType().equals(type) && canPlace(arena, size))
+				candidates.add(arena);
+
+		return candidates.poll();
+	}
+
+	/*
+	 * Join all group members into the arena and remember them as a party
+	 */
+	private void place(final List<Player> group, final Arena arena) {
+		final List<UUID> joined = new ArrayList<>();
+
+		for (final Player player : group)
+			if (arena.joinPlayer(player, ArenaJoinMode.PLAYING))
+				joined.add(player.getUniqueId());
+
+		if (joined.size() > 1)
+			for (final UUID uniqueId : joined)
+				parties.put(uniqueId, joined);
+
+		Common.log("Matchmaking placed " + Common.plural(joined.size(), "player") + " into arena " + arena.getName());
+	}
+
+	/*
+	 * Return true if the arena can take the given amount of players right now
+	 */
+	private boolean canPlace(final Arena arena, final int size) {
+		return (arena.getState() == ArenaState.LOBBY || arena.isStopped()) && !arena.isStopping() && arena.isReady() && !arena.isRestoring() && getFreeSlots(arena) >= size;
+	}
+
+	/*
+	 * Return how many players can still join the arena
+	 */
+	private int getFreeSlots(final Arena arena) {
+		return arena.getSettings().getMaxPlayers() - arena.getArenaPlayersInAllModes().size();
+	}
+
+	/*
+	 * Return how full the arena is, from 0 to 1
+	 */
+	private double getFillRatio(final Arena arena) {
+		final int maxPlayers = arena.getSettings().getMaxPlayers();
+
+		return maxPlayers > 0 ? (double) arena.getArenaPlayersInAllModes().size() / maxPlayers : 1;
+	}
+}
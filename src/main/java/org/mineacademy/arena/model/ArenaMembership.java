@@ -0,0 +1,101 @@
+package org.mineacademy.arena.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.ChatColor;
+import org.mineacademy.fo.Common;
+
+/**
+ * An immutable copy of who is in an arena, published by the arena each time its
+ * players change so that async code such as chat never reads the live player list
+ */
+public final class ArenaMembership {
+
+	/**
+	 * Join modes of arena members by their unique id
+	 */
+	private final Map<UUID, ArenaJoinMode> modes;
+
+	/**
+	 * Team colors of members by their unique id, only filled when the arena is played
+	 */
+	private final Map<UUID, ChatColor> teamColors;
+
+	/**
+	 * The colorized chat prefix of the arena
+	 */
+	private final String chatPrefix;
+
+	/*
+	 * Create a new snapshot, the maps must not be changed afterwards
+	 */
+	private ArenaMembership(final Map<UUID, ArenaJoinMode> modes, final Map<UUID, ChatColor> teamColors, final String chatPrefix) {
+		this.modes = modes;
+		this.teamColors = teamColors;
+		this.chatPrefix = chatPrefix;
+	}
+
+	/**
+	 * Return true if the player is in the arena in any mode
+	 *
+	 * @param uniqueId
+	 * @return
+	 */
+	public boolean isMember(final UUID uniqueId) {
+		return modes.containsKey(uniqueId);
+	}
+
+	/**
+	 * Return the join mode of the player or null if he is not in the arena
+	 *
+	 * @param uniqueId
+	 * @return
+	 */
+	public ArenaJoinMode getMode(final UUID uniqueId) {
+		return modes.get(uniqueId);
+	}
+
+	/**
+	 * Return the chat format for the player, with %1$s for his name and %2$s for the message
+	 *
+	 * @param uniqueId
+	 * @return
+	 */
+	public String getChatFormat(final UUID uniqueId) {
+		return chatPrefix + teamColors.getOrDefault(uniqueId, ChatColor.WHITE) + "%1$s" + ChatColor.DARK_GRAY + ": " + ChatColor.GRAY + "%2$s";
+	}
+
+	/**
+	 * Take a snapshot of the current players in the arena, call on the main thread
+	 *
+	 * @param arena
+	 * @return
+	 */
+	static ArenaMembership of(final Arena arena) {
+		final Map<UUID, ArenaJoinMode> modes = new HashMap<>();
+		final Map<UUID, ChatColor> teamColors = new HashMap<>();
+		final boolean showTeams = arena.hasTeams() && arena.getState() == ArenaState.PLAYED;
+
+		for (final ArenaPlayer cache : arena.getArenaPlayersInAllModes()) {
+			modes.put(cache.getId(), cache.getMode());
+
+			if (showTeams && cache.getArenaTeam() != null)
+				teamColors.put(cache.getId(), cache.getArenaTeam().getColor());
+		}
+
+		return new ArenaMembership(Collections.unmodifiableMap(modes), Collections.unmodifiableMap(teamColors), Common.colorize("&8[&6Arena " + arena.getName() + "&8] "));
+	}
+
+	/**
+	 * Return a snapshot with nobody in the arena
+	 *
+	 * @param arena
+	 * @return
+	 */
+	static ArenaMembership empty(final Arena arena) {
+		return new ArenaMembership(Collections.emptyMap(), Collections.emptyMap(), Common.colorize("&8[&6Arena " + arena.getName() + "&8] "));
+	}
+}
@@ -0,0 +1,140 @@
+package org.mineacademy.arena.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.mineacademy.fo.settings.YamlConfig;
+
+/**
+ * An immutable list of loaded files together with a case insensitive name lookup.
+ *
+ * Changes return a new index, so keep it in a volatile field and replace it
+ * on the main thread. Other threads, such as async chat, can then read it safely.
+ *
+ * @param <T>
+ */
+public final class ArenaNameIndex<T extends YamlConfig> {
+
+	/**
+	 * The index with nothing loaded
+	 */
+	private static final ArenaNameIndex<?> EMPTY = new ArenaNameIndex<>(new ArrayList<>());
+
+	/**
+	 * Loaded items in the order they were loaded
+	 */
+	private final List<T> items;
+
+	/**
+	 * Loaded items by their lowercase name
+	 */
+	private final Map<String, T> itemsByName;
+
+	/*
+	 * Create a new index from the given list, which must not be changed afterwards
+	 */
+	private ArenaNameIndex(final List<T> items) {
+		final Map<String, T> itemsByName = new HashMap<>();
+
+		for (final T item : items)
+			itemsByName.put(item.getName().toLowerCase(Locale.ROOT), item);
+
+		this.items = Collections.unmodifiableList(items);
+		this.itemsByName = itemsByName;
+	}
+
+	/**
+	 * Return a new index with the item added to the end
+	 *
+	 * @param item
+	 * @return
+	 */
+	public ArenaNameIndex<T> with(final T item) {
+		return with(item, items.size());
+	}
+
+	/**
+	 * Return a new index with the item inserted at the given position
+	 *
+	 * @param item
+	 * @param position
+	 * @return
+	 */
+	public ArenaNameIndex<T> with(final T item, final int position) {
+		final List<T> copy = new ArrayList<>(items);
+		copy.add(position, item);
+
+		return new ArenaNameIndex<>(copy);
+	}
+
+	/**
+	 * Return a new index without the given item
+	 *
+	 * @param item
+	 * @return
+	 */
+	public ArenaNameIndex<T> without(final T item) {
+		final List<T> copy = new ArrayList<>(items);
+		copy.remove(item);
+
+		return new ArenaNameIndex<>(copy);
+	}
+
+	/**
+	 * Return the item by its name, case insensitive, or null if not loaded
+	 *
+	 * @param name
+	 * @return
+	 */
+	public T find(final String name) {
+		return itemsByName.get(name.toLowerCase(Locale.ROOT));
+	}
+
+	/**
+	 * Return the position of the item, or -1 if not loaded
+	 *
+	 * @param item
+	 * @return
+	 */
+	public int indexOf(final T item) {
+		return items.indexOf(item);
+	}
+
+	/**
+	 * Return all loaded items, unmodifiable
+	 *
+	 * @return
+	 */
+	public List<T> getItems() {
+		return items;
+	}
+
+	/**
+	 * Return names of all loaded items
+	 *
+	 * @return
+	 */
+	public List<String> getNames() {
+		final List<String> names = new ArrayList<>(items.size());
+
+		for (final T item : items)
+			names.add(item.getName());
+
+		return names;
+	}
+
+	/**
+	 * Return an index with nothing loaded
+	 *
+	 * @param <T>
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends YamlConfig> ArenaNameIndex<T> empty() {
+		return (ArenaNameIndex<T>) EMPTY;
+	}
+}
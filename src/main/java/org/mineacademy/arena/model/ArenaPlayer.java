@@ -135,6 +135,17 @@ public final class ArenaPlayer extends YamlSectionConfig {
 	 */
 	private SerializedMap classTiers = new SerializedMap();
 
+	/**
+	 * How many games the player won by arena type
+	 */
+	private SerializedMap wins = new SerializedMap();
+
+	/**
+	 * The highest wave the player reached in mob arenas
+	 */
+	@Getter
+	private int highestWave = 0;
+
 	/**
 	 * Create a new player cache
 	 */
@@ -153,6 +164,10 @@ public final class ArenaPlayer extends YamlSectionConfig {
 	protected void onLoadFinish() {
 		this.totalPoints = getDouble("Points", 0D);
 		this.classTiers = getMap("Class_Tiers");
+		this.wins = getMap("Wins");
+		this.highestWave = getInteger("Highest_Wave", 0);
+
+		updateLeaderboards();
 	}
 
 	/**
@@ -164,8 +179,25 @@ public final class ArenaPlayer extends YamlSectionConfig {
 	public void loadFromMySQL(final SerializedMap map) {
 		this.totalPoints = map.getDouble("Points", this.totalPoints);
 		this.classTiers = map.containsKey("Class_Tiers") ? map.getMap("Class_Tiers") : this.classTiers;
+		this.wins = map.containsKey("Wins") ? map.getMap("Wins") : this.wins;
+		this.highestWave = map.getInteger("Highest_Wave", this.highestWave);
 
 		save();
+		updateLeaderboards();
+	}
+
+	/*
+	 * Put the loaded stats on leaderboards, so that players get there
+	 * without us reading everyone's data
+	 */
+	private void updateLeaderboards() {
+		final ArenaLeaderboard leaderboard = ArenaLeaderboard.getInstance();
+
+		leaderboard.update(ArenaLeaderboard.POINTS, id, totalPoints);
+		leaderboard.update(ArenaLeaderboard.WAVE, id, highestWave);
+
+		for (final Map.Entry<String, Object> entry : wins.entrySet())
+			leaderboard.update(ArenaLeaderboard.wins(entry.getKey()), id, wins.getInteger(entry.getKey()));
 	}
 
 	@Override
@@ -181,7 +213,9 @@ public final class ArenaPlayer extends YamlSectionConfig {
 	public SerializedMap serialize() {
 		return SerializedMap.ofArray(
 				"Points", Double.parseDouble(totalPoints + "000" + String.valueOf(Math.random() + Math.random()).replace(".", "")),
-				"Class_Tiers", classTiers);
+				"Class_Tiers", classTiers,
+				"Wins", wins,
+				"Highest_Wave", highestWave);
 	}
 
 	// --------------------------------------------------------------------------------------------------------------
@@ -228,6 +262,7 @@ public final class ArenaPlayer extends YamlSectionConfig {
 		arenaPoints = 0;
 
 		save();
+		ArenaLeaderboard.getInstance().update(ArenaLeaderboard.POINTS, id, totalPoints);
 	}
 
 	/*
@@ -247,6 +282,46 @@ public final class ArenaPlayer extends YamlSectionConfig {
 		this.totalPoints = totalPoints;
 
 		save();
+		ArenaLeaderboard.getInstance().update(ArenaLeaderboard.POINTS, id, totalPoints);
+	}
+
+	/**
+	 * Return how many games the player won in the given arena type
+	 *
+	 * @param type
+	 * @return
+	 */
+	public int getWins(final String type) {
+		return wins.getInteger(type, 0);
+	}
+
+	/**
+	 * Count a won game in the given arena type
+	 *
+	 * @param type
+	 */
+	public void addWin(final String type) {
+		final int typeWins = getWins(type) + 1;
+
+		wins.override(type, typeWins);
+
+		save();
+		ArenaLeaderboard.getInstance().update(ArenaLeaderboard.wins(type), id, typeWins);
+	}
+
+	/**
+	 * Remember the wave the player reached in a mob arena if it is their best
+	 *
+	 * @param wave
+	 */
+	public void updateHighestWave(final int wave) {
+		if (wave <= highestWave)
+			return;
+
+		highestWave = wave;
+
+		save();
+		ArenaLeaderboard.getInstance().update(ArenaLeaderboard.WAVE, id, highestWave);
 	}
 
 	/**
@@ -539,6 +614,14 @@ public final class ArenaPlayer extends YamlSectionConfig {
 		return obj instanceof ArenaPlayer && ((ArenaPlayer) obj).id.equals(this.id);
 	}
 
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return id.hashCode();
+	}
+
 	// --------------------------------------------------------------------------------------------------------------
 	// Static methods below
 	// --------------------------------------------------------------------------------------------------------------
@@ -0,0 +1,78 @@
+package org.mineacademy.arena.model;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.mineacademy.fo.region.Region;
+
+/**
+ * The block bounds of an arena region resolved to plain integers, so that
+ * checking if a player is inside needs no location copies or world lookups
+ */
+public final class ArenaRegionBounds {
+
+	/**
+	 * The name of the world the region is in
+	 */
+	private final String worldName;
+
+	/**
+	 * The lowest block coordinates, inclusive
+	 */
+	private final int minX, minY, minZ;
+
+	/**
+	 * The highest block coordinates, inclusive
+	 */
+	private final int maxX, maxY, maxZ;
+
+	/*
+	 * Create new bounds from the two region corners
+	 */
+	private ArenaRegionBounds(final Location primary, final Location secondary) {
+		this.worldName = primary.getWorld().getName();
+
+		this.minX = Math.min(primary.getBlockX(), secondary.getBlockX());
+		this.minY = Math.min(primary.getBlockY(), secondary.getBlockY());
+		this.minZ = Math.min(primary.getBlockZ(), secondary.getBlockZ());
+
+		this.maxX = Math.max(primary.getBlockX(), secondary.getBlockX());
+		this.maxY = Math.max(primary.getBlockY(), secondary.getBlockY());
+		this.maxZ = Math.max(primary.getBlockZ(), secondary.getBlockZ());
+	}
+
+	/**
+	 * Return true if the block coordinates are within the bounds in the given world
+	 *
+	 * @param world
+	 * @param x
+	 * @param y
+	 * @param z
+	 * @return
+	 */
+	public boolean contains(final World world, final int x, final int y, final int z) {
+		return x >= minX && x <= maxX && z >= minZ && z <= maxZ && y >= minY && y <= maxY && world != null && world.getName().equals(worldName);
+	}
+
+	/**
+	 * Return true if the location is within the bounds
+	 *
+	 * @param location
+	 * @return
+	 */
+	public boolean contains(final Location location) {
+		return contains(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+	}
+
+	/**
+	 * Resolve the bounds of the region, or return null if it is not set completely
+	 *
+	 * @param region
+	 * @return
+	 */
+	public static ArenaRegionBounds of(final Region region) {
+		if (region == null || !region.isWhole() || region.getPrimary().getWorld() == null)
+			return null;
+
+		return new ArenaRegionBounds(region.getPrimary(), region.getSecondary());
+	}
+}
@@ -95,14 +95,24 @@ public class ArenaReward extends YamlConfig {
 		return item != null ? item.getPrice() : null;
 	}
 
+	/**
+	 * Queue saving rewards, see {@link ArenaSaveQueue}
+	 */
 	@Override
 	public void save() {
+		ArenaSaveQueue.markDirty(this, "rewards.yml", this::snapshot);
+	}
+
+	/*
+	 * Put item rewards into the config and return the file content
+	 */
+	private String snapshot() {
 		final SerializedMap map = SerializedMap.ofArray("Item_Rewards", itemRewards);
 
 		for (final Map.Entry<String, Object> entry : map.entrySet())
 			setNoSave(entry.getKey(), entry.getValue());
 
-		super.save();
+		return getConfig().saveToString();
 	}
 
 	// --------------------------------------------------------------------------------------------------------------
@@ -22,6 +22,12 @@ public final class ArenaRotateManager {
 	 */
 	private Arena currentArena = null;
 
+	/**
+	 * The arena name from the rotate list we are at, the current arena may
+	 * differ if we swapped it for a ready arena of the same type
+	 */
+	private String rotationSlot = null;
+
 	/**
 	 * When the player joins, start the rotation or join him into spectate
 	 * mode
@@ -65,6 +71,7 @@ public final class ArenaRotateManager {
 		if (currentArena == null) {
 			final String name = Settings.Rotate.ARENAS.get(0);
 			currentArena = ArenaManager.findArena(name);
+			rotationSlot = name;
 
 			Valid.checkNotNull(currentArena, "Could not find arena '" + name + "' from your settings.yml in Rotate.Arenas. Ensure it is created, set up and loaded. Loaded arenas: " + ArenaManager.getArenaNames());
 		}
@@ -113,10 +120,7 @@ public final class ArenaRotateManager {
 				"&r",
 				"<center>&7Starting " + arena.getName() + " in " + Settings.Rotate.DELAY_BETWEEN_ARENAS.getRaw());
 
-		Common.runLater(Settings.Rotate.DELAY_BETWEEN_ARENAS.getTimeTicks(), () -> {
-			for (final Player otherPlayer : Remain.getOnlinePlayers())
-				arena.joinPlayer(otherPlayer, ArenaJoinMode.PLAYING);
-		});
+		Common.runLater(Settings.Rotate.DELAY_BETWEEN_ARENAS.getTimeTicks(), () -> arena.joinPlayers(Remain.getOnlinePlayers(), ArenaJoinMode.PLAYING));
 	}
 
 	private boolean checkArenasInstalled() {
@@ -139,12 +143,21 @@ public final class ArenaRotateManager {
 	 */
 	private void rotateArena() {
 		final List<String> arenas = Settings.Rotate.ARENAS;
-		final String next = Common.getNext(getArena().getName(), arenas, true);
+		final String next = Common.getNext(rotationSlot != null ? rotationSlot : getArena().getName(), arenas, true);
 
-		final Arena nextArena = ArenaManager.findArena(next);
+		Arena nextArena = ArenaManager.findArena(next);
 		Valid.checkNotNull(nextArena, "Arena " + next + " is not installed on this server!");
 
+		// If the next arena is still being restored, swap it for a ready one of the same type
+		if (nextArena.isRestoring()) {
+			final Arena readyArena = ArenaWarmPool.findReadyArena(nextArena.getType(), null);
+
+			if (readyArena != null)
+				nextArena = readyArena;
+		}
+
 		currentArena = nextArena;
+		rotationSlot = next;
 	}
 
 	/*
@@ -160,6 +173,12 @@ public final class ArenaRotateManager {
 	private Arena getArena() {
 		Valid.checkNotNull(currentArena, "Current arena cannot be null");
 
+		// Pick up the new instance if the arena file has been reloaded
+		final Arena loadedArena = ArenaManager.findArena(currentArena.getName());
+
+		if (loadedArena != null)
+			currentArena = loadedArena;
+
 		return currentArena;
 	}
 }
@@ -0,0 +1,249 @@
+package org.mineacademy.arena.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.bukkit.scheduler.BukkitTask;
+import org.mineacademy.arena.settings.Settings;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.plugin.SimplePlugin;
+import org.mineacademy.fo.settings.YamlConfig;
+
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Delays saving arena, class, team and reward files so that many changes
+ * in a row, such as editing a menu with dozens of items, only write
+ * the file once.
+ *
+ * The content is taken on the main thread and written by a background thread
+ * to a temporary file that then replaces the real one, so a crash never leaves
+ * a half written file behind. Writes happen in the order files were saved.
+ */
+@UtilityClass
+public final class ArenaSaveQueue {
+
+	/**
+	 * How long we wait for remaining writes on shutdown
+	 */
+	private final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+	/**
+	 * Files waiting to be saved, in the order they changed
+	 */
+	private final Map<YamlConfig, PendingSave> dirtyConfigs = new LinkedHashMap<>();
+
+	/**
+	 * The task that will save all waiting files, null if none is scheduled
+	 */
+	private BukkitTask flushTask;
+
+	/**
+	 * The thread writing files, created when first needed
+	 */
+	private ExecutorService writer;
+
+	/**
+	 * The last write handed to the writer, since writes run in order
+	 * waiting for it waits for all of them
+	 */
+	private Future<?> lastWrite;
+
+	/**
+	 * Mark the file as changed, saving it after {@link Settings.Save#DELAY}
+	 * together with other changed files
+	 *
+	 * @param config
+	 * @param path the file path in our plugin folder, such as arenas/name.yml
+	 * @param snapshot copies the fields into the config and returns its content,
+	 *                 called on the main thread
+	 */
+	public void markDirty(final YamlConfig config, final String path, final Supplier<String> snapshot) {
+		dirtyConfigs.put(config, new PendingSave(path, snapshot));
+
+		if (flushTask == null)
+			flushTask = Common.runLater(Settings.Save.DELAY.getTimeTicks(), () -> {
+				flushTask = null;
+
+				saveAll();
+			});
+	}
+
+	/**
+	 * Save the given file now if it has changes waiting, returning after it was written
+	 * so that it can be read again
+	 *
+	 * @param config
+	 */
+	public void flush(final YamlConfig config) {
+		final PendingSave save = dirtyConfigs.remove(config);
+
+		if (save != null) {
+			save(config, save);
+
+			awaitWrites();
+		}
+	}
+
+	/**
+	 * Save all files with changes waiting now, returning after they were written.
+	 * Call on reload and before reading files again.
+	 */
+	public void flush() {
+		if (flushTask != null) {
+			flushTask.cancel();
+
+			flushTask = null;
+		}
+
+		saveAll();
+		awaitWrites();
+	}
+
+	/**
+	 * Save all files with changes waiting and stop the writer, call on plugin stop
+	 */
+	public void shutdown() {
+		flush();
+
+		if (writer != null) {
+			writer.shutdown();
+
+			try {
+				if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+					Common.log("Some arena files are still being saved, they may not be complete.");
+
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+
+			writer = null;
+			lastWrite = null;
+		}
+	}
+
+	/**
+	 * Return how many files have changes waiting, call on the main thread
+	 *
+	 * @return
+	 */
+	public int size() {
+		return dirtyConfigs.size();
+	}
+
+	/**
+	 * Forget waiting changes to the file and wait for writes already started,
+	 * call before deleting it so that it is not written again afterwards
+	 *
+	 * @param config
+	 */
+	public void discard(final YamlConfig config) {
+		dirtyConfigs.remove(config);
+
+		awaitWrites();
+	}
+
+	/*
+	 * Take the content of all waiting files and hand them to the writer
+	 */
+	private void saveAll() {
+		final List<Map.Entry<YamlConfig, PendingSave>> entries = new ArrayList<>(dirtyConfigs.entrySet());
+		dirtyConfigs.clear();
+
+		for (final Map.Entry<YamlConfig, PendingSave> entry : entries)
+			save(entry.getKey(), entry.getValue());
+	}
+
+	/*
+	 * Take the content of the file on the main thread and write it in the background,
+	 * logging errors so that other files still get saved
+	 */
+	private void save(final YamlConfig config, final PendingSave save) {
+		final String content;
+
+		try {
+			content = save.snapshot.get();
+
+		} catch (final Throwable t) {
+			Common.error(t, "Failed to save " + config.getFileName());
+
+			return;
+		}
+
+		if (writer == null)
+			writer = Executors.newSingleThreadExecutor(runnable -> {
+				final Thread thread = new Thread(runnable, "Arena Save");
+				thread.setDaemon(true);
+
+				return thread;
+			});
+
+		final File file = new File(SimplePlugin.getData(), save.path);
+
+		lastWrite = writer.submit(() -> write(file, content));
+	}
+
+	/*
+	 * Write the content next to the file and move it over the file in one step
+	 */
+	private void write(final File file, final String content) {
+		final File temporary = new File(file.getPath() + ".tmp");
+		final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+
+		try {
+			Files.write(temporary.toPath(), bytes);
+
+			// Let the watcher know before it sees the file change
+			ArenaFileWatcher.onSaved(file, bytes);
+
+			Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		} catch (final IOException ex) {
+			Common.error(ex, "Failed to save " + file);
+		}
+	}
+
+	/*
+	 * Block until all files handed to the writer were written
+	 */
+	private void awaitWrites() {
+		if (lastWrite == null)
+			return;
+
+		try {
+			lastWrite.get();
+
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+
+		} catch (final ExecutionException ex) {
+			Common.error(ex.getCause(), "Failed to save arena files");
+		}
+
+		lastWrite = null;
+	}
+
+	/*
+	 * Where a changed file goes and how to get its content
+	 */
+	@RequiredArgsConstructor
+	private final class PendingSave {
+
+		private final String path;
+		private final Supplier<String> snapshot;
+	}
+}
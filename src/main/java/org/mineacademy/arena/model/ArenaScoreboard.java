@@ -2,6 +2,7 @@ package org.mineacademy.arena.model;
 
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
+import org.mineacademy.arena.perf.ArenaProfiler;
 import org.mineacademy.fo.Common;
 import org.mineacademy.fo.model.Replacer;
 import org.mineacademy.fo.model.SimpleScoreboard;
@@ -38,19 +39,25 @@ public class ArenaScoreboard extends SimpleScoreboard {
 	@Override
 	protected String replaceVariables(final Player player, String message) {
 		final ArenaSettings settings = arena.getSettings();
+		final long start = ArenaProfiler.start();
 
-		message = Replacer.of(message).replaceAll(
-				"remaining_start", Common.plural(arena.getStartCountdown().getTimeLeft(), "second"),
-				"remaining_end", Common.plural(arena.getHeartbeat().getTimeLeft(), "second"),
-				"players", arena.getPlayers(arena.getState() == ArenaState.EDITED ? ArenaJoinMode.EDITING : ArenaJoinMode.PLAYING).size(),
-				"state", arena.getState().getLocalized(),
-				"lobby_set", settings.getLobbyLocation() != null,
-				"region_set", settings.getRegion() != null && settings.getRegion().isWhole(),
-				"reset_set", settings.getResetLocation() != null);
+		try {
+			message = Replacer.of(message).replaceAll(
+					"remaining_start", Common.plural(arena.getStartCountdown().getTimeLeft(), "second"),
+					"remaining_end", Common.plural(arena.getHeartbeat().getTimeLeft(), "second"),
+					"players", arena.getPlayers(arena.getState() == ArenaState.EDITED ? ArenaJoinMode.EDITING : ArenaJoinMode.PLAYING).size(),
+					"state", arena.getState().getLocalized(),
+					"lobby_set", settings.getLobbyLocation() != null,
+					"region_set", settings.getRegion() != null && settings.getRegion().isWhole(),
+					"reset_set", settings.getResetLocation() != null);
 
-		message = replaceVariablesLate(player, message);
+			message = replaceVariablesLate(player, message);
 
-		return message.replace("_true", "&ayes").replace("_false", "&4no");
+			return message.replace("_true", "&ayes").replace("_false", "&4no");
+
+		} finally {
+			ArenaProfiler.stop(arena, ArenaProfiler.Section.SCOREBOARD, start);
+		}
 	}
 
 	/**
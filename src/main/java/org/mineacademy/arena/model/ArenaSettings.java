@@ -137,14 +137,25 @@ public class ArenaSettings extends YamlConfig {
 		checkDestructionAndRestore();
 	}
 
+	/**
+	 * Saves the file after a short delay together with other changes,
+	 * see {@link ArenaSaveQueue}
+	 */
 	@Override
 	public void save() {
+		ArenaSaveQueue.markDirty(this, "arenas/" + arena.getName() + ".yml", this::snapshot);
+	}
+
+	/*
+	 * Put all fields into the config and return the file content
+	 */
+	private String snapshot() {
 		final SerializedMap map = serialize();
 
 		for (final Map.Entry<String, Object> entry : map.entrySet())
 			setNoSave(entry.getKey(), entry.getValue());
 
-		super.save();
+		return getConfig().saveToString();
 	}
 
 	/*
@@ -232,6 +243,9 @@ public class ArenaSettings extends YamlConfig {
 			this.region = new VisualizedRegion(primary, secondary);
 
 		save();
+
+		// The arena may now be in a different world or have its region completed
+		ArenaWorldListener.update();
 	}
 
 	/**
@@ -1,7 +1,6 @@
 package org.mineacademy.arena.model;
 
 import java.io.File;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -17,6 +16,7 @@ import org.mineacademy.fo.PlayerUtil;
 import org.mineacademy.fo.RandomUtil;
 import org.mineacademy.fo.Valid;
 import org.mineacademy.fo.collection.SerializedMap;
+import org.mineacademy.fo.plugin.SimplePlugin;
 import org.mineacademy.fo.remain.CompColor;
 import org.mineacademy.fo.remain.CompMaterial;
 import org.mineacademy.fo.settings.YamlConfig;
@@ -30,9 +30,9 @@ import lombok.NonNull;
 public final class ArenaTeam extends YamlConfig {
 
 	/**
-	 * The list of loaded teams
+	 * The loaded teams, replaced as a whole when teams are loaded or removed
 	 */
-	private static volatile List<ArenaTeam> loadedTeams = new ArrayList<>();
+	private static volatile ArenaNameIndex<ArenaTeam> loadedTeams = ArenaNameIndex.empty();
 
 	/**
 	 * The color for this team
@@ -77,8 +77,18 @@ public final class ArenaTeam extends YamlConfig {
 		this.permission = getString("Permission");
 	}
 
+	/**
+	 * Queue saving this team, see {@link ArenaSaveQueue}
+	 */
 	@Override
 	public void save() {
+		ArenaSaveQueue.markDirty(this, "teams/" + getName() + ".yml", this::snapshot);
+	}
+
+	/*
+	 * Put the team into the config and return the file content
+	 */
+	private String snapshot() {
 		final SerializedMap map = SerializedMap.ofArray("Applicable_Arenas", applicableArenas);
 
 		// Enable null values
@@ -89,7 +99,7 @@ public final class ArenaTeam extends YamlConfig {
 		for (final Map.Entry<String, Object> entry : map.entrySet())
 			setNoSave(entry.getKey(), entry.getValue());
 
-		super.save();
+		return getConfig().saveToString();
 	}
 
 	/**
@@ -105,7 +115,11 @@ public final class ArenaTeam extends YamlConfig {
 		Valid.checkBoolean(canAssign(player, arena), "Player " + player.getName() + " may not be assigned team " + getName());
 		Valid.checkBoolean(arena.hasTeams(), "Arena " + arena.getName() + " does not support teams!");
 
+		final ArenaTeam oldTeam = cache.getArenaTeam();
+
 		cache.setArenaTeam(this);
+		arena.onTeamAssign(player, oldTeam, this);
+		arena.updateMembership();
 	}
 
 	/**
@@ -235,6 +249,11 @@ public final class ArenaTeam extends YamlConfig {
 		return object instanceof ArenaTeam && ((ArenaTeam) object).getName().equals(this.getName());
 	}
 
+	@Override
+	public int hashCode() {
+		return getName().hashCode();
+	}
+
 	@Override
 	public String toString() {
 		return "ArenaTeam{" + getName() + "}";
@@ -248,7 +267,8 @@ public final class ArenaTeam extends YamlConfig {
 	 * Load all teams in the plugin
 	 */
 	public static void loadTeams() {
-		loadedTeams.clear();
+		ArenaSaveQueue.flush();
+		loadedTeams = ArenaNameIndex.empty();
 
 		final File[] files = FileUtil.getFiles("teams", "yml");
 
@@ -270,7 +290,7 @@ public final class ArenaTeam extends YamlConfig {
 
 		try {
 			final ArenaTeam team = new ArenaTeam(name);
-			loadedTeams.add(team);
+			loadedTeams = loadedTeams.with(team);
 
 			Common.log("[+] Loaded team " + team.getName());
 			return team;
@@ -282,6 +302,35 @@ public final class ArenaTeam extends YamlConfig {
 		return null;
 	}
 
+	/**
+	 * Reload a single team from its file, load it if it is new
+	 * or unload it if its file has been removed
+	 *
+	 * @param name
+	 */
+	public static void reloadTeam(final String name) {
+		final ArenaTeam oldTeam = findTeam(name);
+		final File file = new File(SimplePlugin.getData(), "teams/" + name + ".yml");
+		final int index = oldTeam != null ? loadedTeams.indexOf(oldTeam) : -1;
+
+		if (oldTeam != null) {
+			ArenaSaveQueue.flush(oldTeam);
+
+			loadedTeams = loadedTeams.without(oldTeam);
+		}
+
+		if (file.exists()) {
+			final ArenaTeam team = loadOrCreateTeam(name);
+
+			// Keep the team at its original position
+			if (team != null && index != -1) {
+				loadedTeams = loadedTeams.without(team).with(team, index);
+			}
+
+		} else
+			Common.log("[-] Unloaded team " + name);
+	}
+
 	/**
 	 * Permanently delete a team
 	 *
@@ -290,9 +339,10 @@ public final class ArenaTeam extends YamlConfig {
 	public static void removeTeam(@NonNull final ArenaTeam team) {
 		Valid.checkBoolean(isTeamLoaded(team.getName()), "Team " + team.getName() + " not loaded. Available: " + getTeamNames());
 
+		ArenaSaveQueue.discard(team);
 		team.delete();
 
-		loadedTeams.remove(team);
+		loadedTeams = loadedTeams.without(team);
 	}
 
 	/**
@@ -312,11 +362,7 @@ public final class ArenaTeam extends YamlConfig {
 	 * @return
 	 */
 	public static ArenaTeam findTeam(@NonNull final String name) {
-		for (final ArenaTeam team : loadedTeams)
-			if (team.getName().equalsIgnoreCase(name))
-				return team;
-
-		return null;
+		return loadedTeams.find(name);
 	}
 
 	/**
@@ -325,7 +371,7 @@ public final class ArenaTeam extends YamlConfig {
 	 * @return
 	 */
 	public static List<ArenaTeam> getTeams() {
-		return Collections.unmodifiableList(loadedTeams);
+		return loadedTeams.getItems();
 	}
 
 	/**
@@ -334,6 +380,6 @@ public final class ArenaTeam extends YamlConfig {
 	 * @return
 	 */
 	public static List<String> getTeamNames() {
-		return Common.convert(loadedTeams, ArenaTeam::getName);
+		return loadedTeams.getNames();
 	}
 }
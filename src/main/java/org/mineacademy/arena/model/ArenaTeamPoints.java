@@ -1,8 +1,13 @@
 package org.mineacademy.arena.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import org.bukkit.Location;
 import org.mineacademy.fo.SerializeUtil;
@@ -10,14 +15,11 @@ import org.mineacademy.fo.Valid;
 import org.mineacademy.fo.collection.SerializedMap;
 import org.mineacademy.fo.model.ConfigSerializable;
 
-import lombok.RequiredArgsConstructor;
-
 /**
  * Represents a model for team points in the arena
  *
  * We enable only 1 point per team
  */
-@RequiredArgsConstructor
 public final class ArenaTeamPoints implements ConfigSerializable {
 
 	/**
@@ -30,6 +32,45 @@ public final class ArenaTeamPoints implements ConfigSerializable {
 	 */
 	private final SerializedMap /*location, team name*/ points;
 
+	/**
+	 * The decoded point of each team, by team name, rebuilt when points change.
+	 * We key by name because teams get new instances when their file is reloaded.
+	 */
+	private final Map<String, Location> locationsByTeam = new HashMap<>();
+
+	/**
+	 * Team names by the packed block coordinates of their point
+	 */
+	private final Map<Long, String> teamsByBlock = new HashMap<>();
+
+	/**
+	 * Decoded point locations by their packed block coordinates
+	 */
+	private final Map<Long, Location> locationsByBlock = new HashMap<>();
+
+	/**
+	 * Names of teams that wrongly have more than one point
+	 */
+	private final Set<String> duplicateTeams = new HashSet<>();
+
+	/**
+	 * All decoded point locations
+	 */
+	private List<Location> locations = new ArrayList<>();
+
+	/**
+	 * Create new team points from the serialized map
+	 *
+	 * @param settings
+	 * @param points
+	 */
+	public ArenaTeamPoints(final ArenaSettings settings, final SerializedMap points) {
+		this.settings = settings;
+		this.points = points;
+
+		rebuildIndex();
+	}
+
 	/**
 	 * Set the point at the given location, removing the old point
 	 * since we only enable 1 point per team
@@ -47,7 +88,7 @@ public final class ArenaTeamPoints implements ConfigSerializable {
 			}
 
 		points.put(SerializeUtil.serializeLoc(location), team.getName());
-		settings.save();
+		onPointsChange();
 	}
 
 	/**
@@ -59,7 +100,7 @@ public final class ArenaTeamPoints implements ConfigSerializable {
 		Valid.checkBoolean(!hasPoint(location), "Point at " + location + " already exists!");
 
 		points.put(SerializeUtil.serializeLoc(location), team.getName());
-		settings.save();
+		onPointsChange();
 	}
 
 	/**
@@ -71,7 +112,7 @@ public final class ArenaTeamPoints implements ConfigSerializable {
 		Valid.checkBoolean(hasPoint(location), "Point at " + location + " does not exist!");
 
 		points.asMap().remove(SerializeUtil.serializeLoc(location));
-		settings.save();
+		onPointsChange();
 	}
 
 	/**
@@ -81,7 +122,7 @@ public final class ArenaTeamPoints implements ConfigSerializable {
 	 * @return
 	 */
 	public boolean hasPoint(final Location location) {
-		return findTeam(location) != null;
+		return findTeamName(location) != null;
 	}
 
 	/**
@@ -91,46 +132,31 @@ public final class ArenaTeamPoints implements ConfigSerializable {
 	 * @return
 	 */
 	public ArenaTeam findTeam(final Location location) {
-		final String teamName = points.getString(SerializeUtil.serializeLoc(location));
+		final String teamName = findTeamName(location);
 
 		return teamName != null ? ArenaTeam.findTeam(teamName) : null;
 	}
 
 	/**
-	 * Get the point for the given team
+	 * Get the point for the given team, do not modify the returned location
 	 *
 	 * @param team
 	 * @return
 	 */
 	public Location findPoint(final ArenaTeam team) {
-		final List<Location> teamPoints = new ArrayList<>();
-
-		for (final Map.Entry<String, Object> entry : points.entrySet()) {
-			final Location location = SerializeUtil.deserializeLocation(entry.getKey());
-			final ArenaTeam teamAtLocation = ArenaTeam.findTeam((String) entry.getValue());
-
-			if (team.equals(teamAtLocation))
-				teamPoints.add(location);
-		}
-
-		if (teamPoints.isEmpty())
+		if (team == null)
 			return null;
 
-		Valid.checkBoolean(teamPoints.size() == 1, "Cannot have more than 1 point for team " + team.getName() + "!");
-		return teamPoints.get(0);
+		Valid.checkBoolean(!duplicateTeams.contains(team.getName()), "Cannot have more than 1 point for team " + team.getName() + "!");
+		return locationsByTeam.get(team.getName());
 	}
 
 	/**
-	 * Get a list of all point locations
+	 * Get a list of all point locations, do not modify them
 	 *
 	 * @return
 	 */
 	public List<Location> getLocations() {
-		final List<Location> locations = new ArrayList<>();
-
-		for (final String location : points.keySet())
-			locations.add(SerializeUtil.deserializeLocation(location));
-
 		return locations;
 	}
 
@@ -150,4 +176,59 @@ public final class ArenaTeamPoints implements ConfigSerializable {
 	public SerializedMap serialize() {
 		return points;
 	}
+
+	/*
+	 * Return the name of the team owning the point at the block of the given location, or null
+	 */
+	private String findTeamName(final Location location) {
+		final long blockKey = toBlockKey(location);
+		final Location point = locationsByBlock.get(blockKey);
+
+		// The key only holds coordinates, so compare worlds too
+		return point != null && Objects.equals(point.getWorld(), location.getWorld()) ? teamsByBlock.get(blockKey) : null;
+	}
+
+	/*
+	 * Decode points again and save the settings
+	 */
+	private void onPointsChange() {
+		rebuildIndex();
+
+		settings.save();
+	}
+
+	/*
+	 * Decode all points into our lookup maps
+	 */
+	private void rebuildIndex() {
+		final List<Location> locations = new ArrayList<>();
+
+		locationsByTeam.clear();
+		teamsByBlock.clear();
+		locationsByBlock.clear();
+		duplicateTeams.clear();
+
+		for (final Map.Entry<String, Object> entry : points.entrySet()) {
+			final Location location = SerializeUtil.deserializeLocation(entry.getKey());
+			final String teamName = (String) entry.getValue();
+
+			if (locationsByTeam.containsKey(teamName))
+				duplicateTeams.add(teamName);
+			else
+				locationsByTeam.put(teamName, location);
+
+			teamsByBlock.put(toBlockKey(location), teamName);
+			locationsByBlock.put(toBlockKey(location), location);
+			locations.add(location);
+		}
+
+		this.locations = Collections.unmodifiableList(locations);
+	}
+
+	/*
+	 * Pack block coordinates into a single number, 26 bits for x and z and 12 bits for y
+	 */
+	private static long toBlockKey(final Location location) {
+		return ((long) location.getBlockX() & 0x3FFFFFF) << 38 | ((long) location.getBlockZ() & 0x3FFFFFF) << 12 | location.getBlockY() & 0xFFF;
+	}
 }
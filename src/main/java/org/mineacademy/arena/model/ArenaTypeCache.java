@@ -0,0 +1,213 @@
+package org.mineacademy.arena.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.exception.FoException;
+import org.mineacademy.fo.plugin.SimplePlugin;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Detects types of arena files in parallel with a single read per file, and remembers
+ * them in a small binary cache so unchanged files are not read again on the next load
+ */
+@UtilityClass
+public final class ArenaTypeCache {
+
+	/**
+	 * The version of the cache file format, bump when changing it
+	 */
+	private final int CACHE_VERSION = 1;
+
+	/**
+	 * The name of the cache file in our plugin folder
+	 */
+	private final String CACHE_FILE = "arena-types.cache";
+
+	/**
+	 * Return the arena type for each of the given files, in the same order,
+	 * or null for files where the type could not be detected quickly
+	 *
+	 * @param files
+	 * @return
+	 */
+	public Map<File, String> detectTypes(final File[] files) {
+		final Map<String, CachedType> cache = readCache();
+		final Map<File, String> types = new LinkedHashMap<>();
+		final List<File> changedFiles = new ArrayList<>();
+
+		for (final File file : files) {
+			final CachedType cached = cache.get(file.getName());
+
+			if (cached != null && cached.lastModified == file.lastModified() && cached.length == file.length())
+				types.put(file, cached.type);
+
+			else {
+				types.put(file, null);
+				changedFiles.add(file);
+			}
+		}
+
+		if (!changedFiles.isEmpty()) {
+			final ExecutorService executor = Executors.newFixedThreadPool(Math.min(changedFiles.size(), Runtime.getRuntime().availableProcessors()));
+
+			try {
+				final List<Future<String>> futures = new ArrayList<>();
+
+				for (final File file : changedFiles)
+					futures.add(executor.submit(() -> readType(file)));
+
+				for (int i = 0; i < changedFiles.size(); i++)
+					types.put(changedFiles.get(i), futures.get(i).get());
+
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+
+				throw new FoException(ex, "Interrupted while detecting arena types");
+
+			} catch (final ExecutionException ex) {
+				throw new FoException(ex.getCause(), "Failed to detect arena types");
+
+			} finally {
+				executor.shutdown();
+			}
+
+			writeCache(types);
+		}
+
+		return types;
+	}
+
+	/*
+	 * Read the top level Type key from the file without parsing the whole YAML,
+	 * returning null if not found in the simple form. We stop reading at the key,
+	 * the rest of the file is only read once when the arena loads.
+	 */
+	private String readType(final File file) throws IOException {
+		try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			String line;
+
+			while ((line = reader.readLine()) != null)
+				if (line.startsWith("Type:")) {
+					String type = line.substring("Type:".length()).trim();
+
+					if (type.length() > 1 && (type.startsWith("'") && type.endsWith("'") || type.startsWith("\"") && type.endsWith("\"")))
+						type = type.substring(1, type.length() - 1);
+
+					return type.isEmpty() ? null : type;
+				}
+		}
+
+		return null;
+	}
+
+	/*
+	 * Load cached types, returning an empty map if the cache is missing or outdated
+	 */
+	private Map<String, CachedType> readCache() {
+		final Map<String, CachedType> cache = new HashMap<>();
+		final File file = new File(SimplePlugin.getData(), CACHE_FILE);
+
+		if (!file.exists())
+			return cache;
+
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (input.readInt() != CACHE_VERSION)
+				return cache;
+
+			final int size = input.readInt();
+
+			for (int i = 0; i < size; i++) {
+				final String name = input.readUTF();
+				final long lastModified = input.readLong();
+				final long length = input.readLong();
+				final String type = input.readUTF();
+
+				cache.put(name, new CachedType(lastModified, length, type));
+			}
+
+		} catch (final IOException ex) {
+			Common.log("Arena type cache is corrupted, rebuilding it (" + ex + ")");
+
+			cache.clear();
+		}
+
+		return cache;
+	}
+
+	/*
+	 * Save detected types together with the file modification time and size
+	 */
+	private void writeCache(final Map<File, String> types) {
+		final File file = new File(SimplePlugin.getData(), CACHE_FILE);
+		final Map<File, String> detected = new LinkedHashMap<>();
+
+		for (final Map.Entry<File, String> entry : types.entrySet())
+			if (entry.getValue() != null)
+				detected.put(entry.getKey(), entry.getValue());
+
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			output.writeInt(CACHE_VERSION);
+			output.writeInt(detected.size());
+
+			for (final Map.Entry<File, String> entry : detected.entrySet()) {
+				final File arenaFile = entry.getKey();
+
+				output.writeUTF(arenaFile.getName());
+				output.writeLong(arenaFile.lastModified());
+				output.writeLong(arenaFile.length());
+				output.writeUTF(entry.getValue());
+			}
+
+		} catch (final IOException ex) {
+			Common.error(ex, "Failed to save arena type cache to " + file);
+		}
+	}
+
+	/**
+	 * Represents a cached arena type of a file
+	 */
+	private static final class CachedType {
+
+		/**
+		 * When the file was last modified
+		 */
+		private final long lastModified;
+
+		/**
+		 * The size of the file
+		 */
+		private final long length;
+
+		/**
+		 * The arena type
+		 */
+		private final String type;
+
+		private CachedType(final long lastModified, final long length, final String type) {
+			this.lastModified = lastModified;
+			this.length = length;
+			this.type = type;
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package org.mineacademy.arena.model;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.remain.Remain;
+
+/**
+ * Hides spectators from other arena members. Changes are collected and applied
+ * together on the next tick, and each viewer only gets packets for players whose
+ * visibility actually changed. Everything is shown again when players leave or
+ * the arena stops.
+ */
+public final class ArenaVisibility {
+
+	/**
+	 * The arena whose members we manage
+	 */
+	private final Arena arena;
+
+	/**
+	 * Players that should be hidden from all other arena members
+	 */
+	private final Set<UUID> hiddenPlayers = new HashSet<>();
+
+	/**
+	 * Players each viewer currently has hidden because of us
+	 */
+	private final Map<UUID, Set<UUID>> appliedHides = new HashMap<>();
+
+	/**
+	 * The task applying pending changes, null if none is scheduled
+	 */
+	private BukkitTask updateTask;
+
+	/**
+	 * Create a new visibility manager for the arena
+	 *
+	 * @param arena
+	 */
+	public ArenaVisibility(final Arena arena) {
+		this.arena = arena;
+	}
+
+	/**
+	 * Hide the player from all arena members on the next tick
+	 *
+	 * @param player
+	 */
+	public void hide(final Player player) {
+		if (hiddenPlayers.add(player.getUniqueId()))
+			scheduleUpdate();
+	}
+
+	/**
+	 * Called automatically when a player joins, so that he will not see hidden players
+	 */
+	public void onJoin() {
+		if (!hiddenPlayers.isEmpty())
+			scheduleUpdate();
+	}
+
+	/**
+	 * Show the player to everyone who had him hidden and show him everyone
+	 * he had hidden, right away
+	 *
+	 * @param player
+	 */
+	public void restore(final Player player) {
+		final UUID uniqueId = player.getUniqueId();
+
+		hiddenPlayers.remove(uniqueId);
+
+		for (final Map.Entry<UUID, Set<UUID>> entry : appliedHides.entrySet())
+			if (entry.getValue().remove(uniqueId)) {
+				final Player viewer = Remain.getPlayerByUUID(entry.getKey());
+
+				if (viewer != null && viewer.isOnline())
+					viewer.showPlayer(player);
+			}
+
+		final Set<UUID> hidden = appliedHides.remove(uniqueId);
+
+		if (hidden != null)
+			for (final UUID hiddenId : hidden) {
+				final Player hiddenPlayer = Remain.getPlayerByUUID(hiddenId);
+
+				if (hiddenPlayer != null && hiddenPlayer.isOnline())
+					player.showPlayer(hiddenPlayer);
+			}
+	}
+
+	/**
+	 * Show everyone we have hidden, called when the arena stops
+	 */
+	public void restoreAll() {
+		if (updateTask != null) {
+			updateTask.cancel();
+
+			updateTask = null;
+		}
+
+		for (final Map.Entry<UUID, Set<UUID>> entry : appliedHides.entrySet()) {
+			final Player viewer = Remain.getPlayerByUUID(entry.getKey());
+
+			if (viewer == null || !viewer.isOnline())
+				continue;
+
+			for (final UUID hiddenId : entry.getValue()) {
+				final Player hiddenPlayer = Remain.getPlayerByUUID(hiddenId);
+
+				if (hiddenPlayer != null && hiddenPlayer.isOnline())
+					viewer.showPlayer(hiddenPlayer);
+			}
+		}
+
+		appliedHides.clear();
+		hiddenPlayers.clear();
+	}
+
+	/*
+	 * Apply all pending changes on the next tick
+	 */
+	private void scheduleUpdate() {
+		if (updateTask == null)
+			updateTask = Common.runLater(1, this::update);
+	}
+
+	/*
+	 * Hide and show players so that each arena member sees exactly those not hidden
+	 */
+	private void update() {
+		updateTask = null;
+
+		final Set<UUID> members = new HashSet<>();
+
+		for (final ArenaPlayer cache : arena.getArenaPlayersInAllModes()) {
+			final Player viewer = Remain.getPlayerByUUID(cache.getId());
+
+			if (viewer == null || !viewer.isOnline())
+				continue;
+
+			members.add(viewer.getUniqueId());
+
+			final Set<UUID> applied = appliedHides.computeIfAbsent(viewer.getUniqueId(), uniqueId -> new HashSet<>());
+
+			for (final UUID hiddenId : hiddenPlayers)
+				if (!hiddenId.equals(viewer.getUniqueId()) && !applied.contains(hiddenId)) {
+					final Player hiddenPlayer = Remain.getPlayerByUUID(hiddenId);
+
+					if (hiddenPlayer != null && hiddenPlayer.isOnline()) {
+						viewer.hidePlayer(hiddenPlayer);
+
+						applied.add(hiddenId);
+					}
+				}
+
+			for (final Iterator<UUID> it = applied.iterator(); it.hasNext();) {
+				final UUID hiddenId = it.next();
+
+				if (!hiddenPlayers.contains(hiddenId)) {
+					final Player hiddenPlayer = Remain.getPlayerByUUID(hiddenId);
+
+					if (hiddenPlayer != null && hiddenPlayer.isOnline())
+						viewer.showPlayer(hiddenPlayer);
+
+					it.remove();
+				}
+			}
+		}
+
+		// Forget viewers who disconnected without leaving properly
+		appliedHides.keySet().retainAll(members);
+	}
+}
@@ -0,0 +1,159 @@
+package org.mineacademy.arena.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.mineacademy.arena.settings.Settings;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.region.Region;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Keeps a small pool of arenas per arena type that are stopped, fully restored
+ * and have their lobby and region chunks pinned, so that when one arena finishes
+ * we can move players to a ready one instead of waiting for its map to be reset
+ */
+@UtilityClass
+public final class ArenaWarmPool {
+
+	/**
+	 * Names of arenas ready to be played, by their arena type
+	 */
+	private final Map<String, List<String>> readyArenas = new HashMap<>();
+
+	/**
+	 * Update the pool of every arena type, see {@link #refill(String)}
+	 */
+	public void refill() {
+		final Set<String> types = new HashSet<>(readyArenas.keySet());
+
+		for (final Arena arena : ArenaManager.getArenas())
+			types.add(arena.getType());
+
+		for (final String type : types)
+			refill(type);
+	}
+
+	/**
+	 * Update the pool of the given arena type, dropping arenas no longer ready and
+	 * adding ready ones up to {@link Settings.WarmPool#SIZE}, pinning their chunks
+	 * so the first join is instant
+	 *
+	 * @param type
+	 */
+	public void refill(final String type) {
+		final List<String> pool = readyArenas.computeIfAbsent(type, key -> new ArrayList<>());
+
+		for (final Iterator<String> it = pool.iterator(); it.hasNext();) {
+			final Arena arena = ArenaManager.findArena(it.next());
+
+			if (arena == null || !arena.getType().equals(type) || !isWarmCandidate(arena)) {
+				it.remove();
+
+				// Arenas being played keep their chunks until they stop, removed arenas were unloaded already
+				if (arena != null && arena.isStopped())
+					ArenaChunkManager.release(arena);
+			}
+		}
+
+		while (pool.size() > Settings.WarmPool.SIZE) {
+			final Arena arena = ArenaManager.findArena(pool.remove(pool.size() - 1));
+
+			if (arena != null)
+				ArenaChunkManager.release(arena);
+		}
+
+		for (final Arena arena : ArenaManager.getArenas())
+			if (pool.size() < Settings.WarmPool.SIZE && arena.getType().equals(type) && isWarmCandidate(arena) && !pool.contains(arena.getName()))
+				pool.add(arena.getName());
+
+		// Does nothing for arenas already pinned, pins reloaded arenas under the same name again
+		for (final String name : pool)
+			ArenaChunkManager.preload(ArenaManager.findArena(name));
+
+		if (pool.isEmpty())
+			readyArenas.remove(type);
+	}
+
+	/**
+	 * Called automatically when the arena stops, removes it from the pool since
+	 * its map is now being restored and puts another arena in its place
+	 *
+	 * @param arena
+	 */
+	public void onArenaStop(final Arena arena) {
+		refillAffected(arena);
+
+		Common.runLater(ArenaMatchmaker::processAll);
+	}
+
+	/**
+	 * Called automatically when the map or world of the arena has been restored,
+	 * enabling it to be put back into the pool
+	 *
+	 * @param arena
+	 */
+	public void onRestoreFinish(final Arena arena) {
+		refillAffected(arena);
+
+		ArenaMatchmaker.processAll();
+	}
+
+	/**
+	 * Return a stopped and fully restored arena of the given type, preferring
+	 * arenas from the pool, or null if there is none
+	 *
+	 * @param type
+	 * @param exclude the arena to skip, or null
+	 * @return
+	 */
+	public Arena findReadyArena(final String type, final Arena exclude) {
+		for (final String name : readyArenas.getOrDefault(type, new ArrayList<>())) {
+			final Arena arena = ArenaManager.findArena(name);
+
+			if (arena != null && !arena.equals(exclude) && isWarmCandidate(arena))
+				return arena;
+		}
+
+		for (final Arena arena : ArenaManager.getArenas())
+			if (arena.getType().equals(type) && !arena.equals(exclude) && isWarmCandidate(arena))
+				return arena;
+
+		return null;
+	}
+
+	/*
+	 * Update the pool of the arena type and of other arenas in its world,
+	 * since resetting the world restores them too
+	 */
+	private void refillAffected(final Arena arena) {
+		final Set<String> types = new HashSet<>();
+		final Region region = arena.getSettings().getRegion();
+
+		types.add(arena.getType());
+
+		if (region != null && region.isWhole())
+			for (final Arena other : ArenaManager.getArenas()) {
+				final Region otherRegion = other.getSettings().getRegion();
+
+				if (otherRegion != null && otherRegion.isWhole() && region.getWorld().equals(otherRegion.getWorld()))
+					types.add(other.getType());
+			}
+
+		for (final String type : types)
+			refill(type);
+	}
+
+	/*
+	 * Return true if the arena can be played right away
+	 */
+	private boolean isWarmCandidate(final Arena arena) {
+		return arena.isStopped() && arena.isReady() && !arena.isRestoring();
+	}
+}
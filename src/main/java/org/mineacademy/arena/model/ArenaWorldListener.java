@@ -0,0 +1,251 @@
+package org.mineacademy.arena.model;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Creature;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockFormEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPistonEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockSpreadEvent;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.entity.ItemSpawnEvent;
+import org.mineacademy.arena.perf.ArenaTimings;
+import org.mineacademy.fo.region.Region;
+import org.mineacademy.fo.remain.CompMaterial;
+
+/**
+ * Protects arena maps from liquids, spreading and forming blocks, pistons and spawning.
+ *
+ * These events fire very often all over the server, so this listener is only registered
+ * while some arena has its region set, and it ignores worlds without arenas right away.
+ */
+public final class ArenaWorldListener implements Listener {
+
+	/**
+	 * The listener instance we register and unregister
+	 */
+	private static final ArenaWorldListener instance = new ArenaWorldListener();
+
+	/**
+	 * Names of worlds having at least one arena region
+	 */
+	private static volatile Set<String> arenaWorlds = Collections.emptySet();
+
+	/**
+	 * Reused to tell if flows and pushes cross an arena border
+	 */
+	private final ArenaBorderCrossing crossing = new ArenaBorderCrossing();
+
+	/*
+	 * Create the single instance
+	 */
+	private ArenaWorldListener() {
+	}
+
+	// ------–------–------–------–------–------–------–------–------–------–------–------–
+	// Registration
+	// ------–------–------–------–------–------–------–------–------–------–------–------–
+
+	/**
+	 * Rebuild the list of arena worlds and register this listener if there is any,
+	 * or unregister it if there is none. Call after arenas are loaded, removed or their region changes.
+	 */
+	public static void update() {
+		final Set<String> worlds = new HashSet<>();
+
+		for (final Arena arena : ArenaManager.getArenas()) {
+			final Region region = arena.getSettings().getRegion();
+
+			if (region != null && region.isWhole() && region.getPrimary().getWorld() != null)
+				worlds.add(region.getPrimary().getWorld().getName());
+		}
+
+		arenaWorlds = Collections.unmodifiableSet(worlds);
+
+		// Unregister first so that we are never registered twice
+		ArenaTimings.unregisterEvents(instance);
+
+		if (!worlds.isEmpty())
+			ArenaTimings.registerEvents(instance);
+	}
+
+	/**
+	 * Unregister this listener, called when the plugin stops
+	 */
+	public static void unregister() {
+		ArenaTimings.unregisterEvents(instance);
+
+		arenaWorlds = Collections.emptySet();
+	}
+
+	/*
+	 * Return true if the world has an arena in it
+	 */
+	private static boolean isArenaWorld(final World world) {
+		return world != null && arenaWorlds.contains(world.getName());
+	}
+
+	// ------–------–------–------–------–------–------–------–------–------–------–------–
+	// Events
+	// ------–------–------–------–------–------–------–------–------–------–------–------–
+
+	/**
+	 * Prevent monsters spawning in stopped arenas
+	 *
+	 * @param event
+	 */
+	@EventHandler
+	public void onCreatureSpawn(final CreatureSpawnEvent event) {
+		if (!isArenaWorld(event.getLocation().getWorld()))
+			return;
+
+		final Arena arena = ArenaManager.findArena(event.getLocation());
+
+		if (arena != null) {
+			if (!arena.isPlayed() && !arena.isEdited()) {
+				event.setCancelled(true);
+
+				return;
+			}
+
+			final Region region = arena.getSettings().getRegion();
+
+			if (region != null && region.isWhole()) {
+				int creatures = 0;
+
+				for (final Entity entity : region.getEntities())
+					if (entity instanceof Creature)
+						creatures++;
+
+				if (creatures >= arena.getSettings().getMaxCreatures())
+					event.setCancelled(true);
+			}
+		}
+	}
+
+	/**
+	 * Prevent item spawning in stopped arenas
+	 *
+	 * @param event
+	 */
+	@EventHandler
+	public void onItemSpawn(final ItemSpawnEvent event) {
+		final Location location = event.getLocation();
+
+		if (isArenaWorld(location.getWorld())) {
+			final Arena arena = ArenaManager.findArena(location);
+
+			if (arena != null && !arena.isPlayed() && !arena.isEdited())
+				event.setCancelled(true);
+		}
+	}
+
+	/**
+	 * Prevent any block forming such as ice in arenas what-so-ever
+	 *
+	 * @param event
+	 */
+	@EventHandler
+	public void onBlockForm(final BlockFormEvent event) {
+		cancelIfInArena(event.getBlock(), event);
+	}
+
+	/**
+	 * Prevent any block spread such as fire burning in arenas what-so-ever
+	 *
+	 * @param event
+	 */
+	@EventHandler
+	public void onBlockSpread(final BlockSpreadEvent event) {
+		cancelIfInArena(event.getBlock(), event);
+	}
+
+	/**
+	 * Prevent piston abuse in arenas
+	 *
+	 * @param event
+	 */
+	@EventHandler
+	public void onPistonExtend(final BlockPistonExtendEvent event) {
+		preventPistonMovement(event, event.getBlocks());
+	}
+
+	/**
+	 * Prevent piston abuse in arenas
+	 *
+	 * @param event
+	 */
+	@EventHandler
+	public void onPistonRetract(final BlockPistonRetractEvent event) {
+		try {
+			preventPistonMovement(event, event.getBlocks());
+		} catch (final NoSuchMethodError ex) {
+			// Old MC lack the event.getBlocks method
+		}
+	}
+
+	/**
+	 * Calculate if the blocks being pushed/pulled by piston cross an arena border
+	 * and cancel the event if they do
+	 *
+	 * @param event
+	 * @param blocks
+	 */
+	private void preventPistonMovement(final BlockPistonEvent event, final List<Block> blocks) {
+		if (!isArenaWorld(event.getBlock().getWorld()))
+			return;
+
+		final BlockFace direction = event.getDirection();
+		final Arena pistonArena = ArenaManager.findArena(event.getBlock().getLocation());
+
+		// Check where blocks end up ONE step ahead in the push/pull direction
+		for (final Block block : blocks) {
+			crossing.classify(pistonArena, ArenaManager.findArena(block.getRelative(direction).getLocation()));
+
+			if (crossing.crossesBorder()) {
+				event.setCancelled(true);
+
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Prevent liquids flowing in from/to arenas and prevent dragon egg being teleported
+	 *
+	 * @param event
+	 */
+	@EventHandler(ignoreCancelled = true)
+	public void onBlockTeleport(final BlockFromToEvent event) {
+		final Block block = event.getBlock();
+
+		if (!isArenaWorld(block.getWorld()))
+			return;
+
+		crossing.classify(block.getLocation(), event.getToBlock().getLocation());
+
+		if (crossing.crossesBorder() || (crossing.has(ArenaBorderCrossing.FROM_ARENA) && block.getType() == CompMaterial.DRAGON_EGG.getMaterial()))
+			event.setCancelled(true);
+	}
+
+	/*
+	 * Cancel the event if the block is in an arena
+	 */
+	private void cancelIfInArena(final Block block, final Cancellable event) {
+		if (isArenaWorld(block.getWorld()) && ArenaManager.findArena(block.getLocation()) != null)
+			event.setCancelled(true);
+	}
+}
@@ -10,6 +10,8 @@ import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
+import org.mineacademy.arena.perf.ArenaMetrics;
+import org.mineacademy.arena.perf.ArenaProfiler;
 import org.mineacademy.fo.Common;
 import org.mineacademy.fo.Valid;
 import org.mineacademy.fo.collection.StrictSet;
@@ -64,6 +66,8 @@ public final class ArenaWorldManager {
 
 		processedWorlds.add(world);
 
+		final long startMillis = System.currentTimeMillis();
+
 		final List<Block> blocks = region.getBlocks();
 
 		new ChunkedTask(500_000) {
@@ -87,6 +91,13 @@ public final class ArenaWorldManager {
 				return "blocks";
 			}
 
+			@Override
+			protected String getProcessMessage(long initialTime, int processed) {
+				ArenaProfiler.recordSince(arena, ArenaProfiler.Section.WORLD_RESTORE, initialTime);
+
+				return super.getProcessMessage(initialTime, processed);
+			}
+
 			@Override
 			protected void onFinish() {
 				Common.log("Arena " + arena.getName() + " finished converting blocks to chunks.");
@@ -113,11 +124,20 @@ public final class ArenaWorldManager {
 						return "chunks";
 					}
 
+					@Override
+					protected String getProcessMessage(long initialTime, int processed) {
+						ArenaProfiler.recordSince(arena, ArenaProfiler.Section.WORLD_RESTORE, initialTime);
+
+						return super.getProcessMessage(initialTime, processed);
+					}
+
 					@Override
 					protected void onFinish() {
 						Common.log("Arena " + arena.getName() + " finished resetting world " + world.getName() + ".");
 
 						processedWorlds.remove(world);
+						ArenaMetrics.recordWorldRestore(System.currentTimeMillis() - startMillis);
+						ArenaWarmPool.onRestoreFinish(arena);
 					}
 				}.startChain();
 			}
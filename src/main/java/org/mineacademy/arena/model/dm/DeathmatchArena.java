@@ -63,7 +63,7 @@ public class DeathmatchArena extends Arena {
 			forEachInAllModes(player -> {
 				final Location location = locationPicker.pickRandom(player);
 
-				teleport(player, location);
+				queueStart(player, queued -> teleport(queued, location));
 			});
 	}
 
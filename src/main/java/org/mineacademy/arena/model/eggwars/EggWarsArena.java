@@ -100,21 +100,20 @@ public class EggWarsArena extends Arena {
 		final List<Location> eggLocations = Common.toList(getSettings().getEggs());
 
 		for (final ArenaPlayer arenaPlayer : getArenaPlayers(ArenaJoinMode.PLAYING)) {
-			final Player player = arenaPlayer.getPlayer();
-			final Location location = locationPicker.pickRandom(player);
-
-			// Teleport to arena
-			teleport(player, location);
+			final Location location = locationPicker.pickRandom(arenaPlayer.getPlayer());
 
 			// Save their location for respawns
 			setPlayerTag(arenaPlayer, Constants.Tag.ENTRANCE_LOCATION, location);
 
-			// Spawn crystal
-			final Location closestEgg = BlockUtil.findClosestLocation(player.getLocation(), eggLocations);
+			// Spawn crystal now so that it does not depend on when the player gets teleported
+			final Location closestEgg = BlockUtil.findClosestLocation(location, eggLocations);
 			eggLocations.remove(closestEgg);
 
 			final EnderCrystal crystal = closestEgg.getWorld().spawn(closestEgg.clone().add(0.5, 1, 0.5), EnderCrystal.class);
-			setEntityTag(crystal, Constants.Tag.TEAM_CRYSTAL, player.getName());
+			setEntityTag(crystal, Constants.Tag.TEAM_CRYSTAL, arenaPlayer.getPlayer().getName());
+
+			// Teleport to arena
+			queueStart(arenaPlayer.getPlayer(), player -> teleport(player, location));
 		}
 
 		// Spawn villagers
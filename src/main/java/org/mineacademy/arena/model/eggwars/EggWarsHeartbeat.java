@@ -26,11 +26,11 @@ public class EggWarsHeartbeat extends ArenaHeartbeat {
 	}
 
 	/**
-	 * @see org.mineacademy.arena.model.ArenaHeartbeat#onTick()
+	 * @see org.mineacademy.arena.model.ArenaHeartbeat#onArenaTick()
 	 */
 	@Override
-	protected void onTick() {
-		super.onTick();
+	protected void onArenaTick() {
+		super.onArenaTick();
 
 		final EggWarsSettings settings = getArena().getSettings();
 		final int elapsedSeconds = getCountdownSeconds() - getTimeLeft();
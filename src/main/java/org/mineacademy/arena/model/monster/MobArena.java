@@ -72,7 +72,7 @@ public class MobArena extends Arena {
 		super.onStart();
 
 		if (getState() != ArenaState.EDITED)
-			forEachInAllModes((player) -> teleport(player, getSettings().getEntranceLocation()));
+			forEachInAllModes((player) -> queueStart(player, queued -> teleport(queued, getSettings().getEntranceLocation())));
 	}
 
 	/**
@@ -121,6 +121,7 @@ public class MobArena extends Arena {
 		//super.onReward(player, cache); Disable the generic points message
 
 		final int wave = cache.getPlayedToWave() != 0 ? cache.getPlayedToWave() : getHeartbeat().getWave();
+		cache.updateHighestWave(wave);
 
 		// Only give points if survived 5 waves or more
 		// If survived 20 or more waves, multiply by 2, otherwise multiply by 2.5
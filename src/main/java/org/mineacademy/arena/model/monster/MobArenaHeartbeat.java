@@ -1,6 +1,8 @@
 package org.mineacademy.arena.model.monster;
 
 import org.bukkit.Location;
+import org.mineacademy.arena.journal.JournalEvent;
+import org.mineacademy.arena.journal.MatchJournal;
 import org.mineacademy.arena.model.Arena;
 import org.mineacademy.arena.model.ArenaHeartbeat;
 import org.mineacademy.arena.model.monster.MobArenaSettings.MobSpawnpoint;
@@ -39,11 +41,11 @@ public class MobArenaHeartbeat extends ArenaHeartbeat {
 	}
 
 	/**
-	 * @see org.mineacademy.arena.model.ArenaHeartbeat#onTick()
+	 * @see org.mineacademy.arena.model.ArenaHeartbeat#onArenaTick()
 	 */
 	@Override
-	protected void onTick() {
-		super.onTick();
+	protected void onArenaTick() {
+		super.onArenaTick();
 
 		final int elapsedSeconds = getCountdownSeconds() - getTimeLeft();
 		final long waveDuration = getArena().getSettings().getWaveDuration().getTimeSeconds();
@@ -72,6 +74,8 @@ public class MobArenaHeartbeat extends ArenaHeartbeat {
 	private void onNextWave() {
 		getArena().broadcastInfo("Arena entered the " + wave + " wave");
 
+		MatchJournal.record(JournalEvent.WAVE, getArena(), null, null, wave);
+
 		tickSpawnpoints();
 	}
 
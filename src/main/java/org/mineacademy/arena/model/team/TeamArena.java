@@ -2,9 +2,11 @@ package org.mineacademy.arena.model.team;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.bukkit.Location;
@@ -24,10 +26,8 @@ import org.mineacademy.fo.Common;
 import org.mineacademy.fo.MathUtil;
 import org.mineacademy.fo.Messenger;
 import org.mineacademy.fo.RandomUtil;
-import org.mineacademy.fo.Valid;
 import org.mineacademy.fo.collection.StrictMap;
 import org.mineacademy.fo.menu.model.ItemCreator;
-import org.mineacademy.fo.model.RandomNoRepeatPicker;
 import org.mineacademy.fo.remain.CompColor;
 import org.mineacademy.fo.remain.CompMaterial;
 
@@ -45,6 +45,12 @@ public abstract class TeamArena extends Arena {
 	@Getter(value = AccessLevel.PROTECTED)
 	private final StrictMap<ArenaTeam, StrictMap<String, Object>> teamTags = new StrictMap<>();
 
+	/**
+	 * Playing players of each team, updated as they get a team and leave or spectate,
+	 * in the order they joined their team
+	 */
+	private final Map<ArenaTeam, Set<ArenaPlayer>> rosters = new LinkedHashMap<>();
+
 	/**
 	 * Create a new team arena
 	 *
@@ -111,29 +117,8 @@ public abstract class TeamArena extends Arena {
 		if (isStopped())
 			return;
 
-		// Kick players without team
-		final List<ArenaPlayer> players = new ArrayList<>(this.getArenaPlayers(ArenaJoinMode.PLAYING));
-
-		// Picker to pick a random class for players who did not select any
-		final RandomNoRepeatPicker<ArenaTeam> teamPicker = RandomNoRepeatPicker.newPicker((player, team) -> isBalancedJoin(team, true) && team.canAssign(player, this));
-
-		for (final ArenaPlayer cache : players) {
-			// Stopped in the meanwhile
-			if (isStopped())
-				return;
-
-			final Player player = cache.getPlayer();
-
-			if (cache.getArenaTeam() == null) {
-				final ArenaTeam picked = teamPicker.pickFromFor(ArenaTeam.getTeams(), player);
-
-				if (picked != null)
-					picked.assignTo(cache.getPlayer());
-
-				else
-					leavePlayer(cache.getPlayer(), ArenaLeaveReason.NO_TEAM);
-			}
-		}
+		// Assign teams to players who did not select any, kicking those who cannot get one
+		TeamBalancer.balance(this);
 	}
 
 	/**
@@ -148,21 +133,24 @@ public abstract class TeamArena extends Arena {
 
 		for (final ArenaPlayer cache : getArenaPlayers(ArenaJoinMode.PLAYING)) {
 			final Location teamSpawnpoint = getSettings().findSpawnpoint(cache.getArenaTeam());
-			final Player player = cache.getPlayer();
+			final ArenaTeam team = cache.getArenaTeam();
+
+			queueStart(cache.getPlayer(), player -> {
 
-			// Give the colored helmet to each team player
-			player.getEquipment().setHelmet(ItemCreator
-					.of(CompMaterial.LEATHER_HELMET)
-					.color(CompColor.fromChatColor(cache.getArenaTeam().getColor())).build().make());
+				// Give the colored helmet to each team player
+				player.getEquipment().setHelmet(ItemCreator
+						.of(CompMaterial.LEATHER_HELMET)
+						.color(CompColor.fromChatColor(team.getColor())).build().make());
 
-			// Old code, please see the code above to migrate
-			/*new SimpleEquipment(player).set(
-					CompEquipmentSlot.HEAD, ItemCreator
-							.of(CompMaterial.LEATHER_HELMET)
-							.color(CompColor.fromChatColor(cache.getArenaTeam().getColor())));*/
+				// Old code, please see the code above to migrate
+				/*new SimpleEquipment(player).set(
+						CompEquipmentSlot.HEAD, ItemCreator
+								.of(CompMaterial.LEATHER_HELMET)
+								.color(CompColor.fromChatColor(cache.getArenaTeam().getColor())));*/
 
-			// Teleport the player to his team spawn point
-			teleport(player, teamSpawnpoint);
+				// Teleport the player to his team spawn point
+				teleport(player, teamSpawnpoint);
+			});
 		}
 	}
 
@@ -197,6 +185,35 @@ public abstract class TeamArena extends Arena {
 		}
 	}
 
+	/**
+	 * @see org.mineacademy.arena.model.Arena#onTeamAssign(org.bukkit.entity.Player, org.mineacademy.arena.model.ArenaTeam, org.mineacademy.arena.model.ArenaTeam)
+	 */
+	@Override
+	protected void onTeamAssign(final Player player, final ArenaTeam oldTeam, final ArenaTeam newTeam) {
+		super.onTeamAssign(player, oldTeam, newTeam);
+
+		final ArenaPlayer cache = ArenaPlayer.getCache(player);
+
+		if (oldTeam != null)
+			removeFromRoster(oldTeam, cache);
+
+		rosters.computeIfAbsent(newTeam, team -> new LinkedHashSet<>()).add(cache);
+	}
+
+	/**
+	 * @see org.mineacademy.arena.model.Arena#onLeaveStart(org.bukkit.entity.Player)
+	 */
+	@Override
+	protected void onLeaveStart(final Player player) {
+		super.onLeaveStart(player);
+
+		final ArenaPlayer cache = ArenaPlayer.getCache(player);
+
+		// Spectators have no team, they left their roster already
+		if (cache.getArenaTeam() != null)
+			removeFromRoster(cache.getArenaTeam(), cache);
+	}
+
 	/**
 	 * @see org.mineacademy.arena.model.Arena#onLeave(org.bukkit.entity.Player, org.mineacademy.arena.model.ArenaLeaveReason)
 	 */
@@ -236,6 +253,7 @@ public abstract class TeamArena extends Arena {
 		super.onStop();
 
 		teamTags.clear();
+		rosters.clear();
 	}
 
 	/**
@@ -259,8 +277,8 @@ public abstract class TeamArena extends Arena {
 	 * @return
 	 */
 	public final boolean isBalancedJoin(final ArenaTeam teamToJoin, final boolean strict) {
-		final int lowestTeamPlayers = getTeamWithLowestPlayers().getPlayers(this).size();
-		final int joinTeamPlayers = teamToJoin.getPlayers(this).size();
+		final int lowestTeamPlayers = getTeamSize(getTeamWithLowestPlayers());
+		final int joinTeamPlayers = getTeamSize(teamToJoin);
 
 		final int imbalance = joinTeamPlayers - lowestTeamPlayers;
 
@@ -274,26 +292,30 @@ public abstract class TeamArena extends Arena {
 	}
 
 	/**
-	 * Return the last team alive, or null if there are 2+ teams alive
-	 * or no team alive
+	 * Return the last team alive, or null if there are 2+ teams alive,
+	 * no team alive or some players have not got their team yet
 	 *
 	 * @return
 	 */
 	protected final ArenaTeam getLastTeamStanding() {
 		ArenaTeam lastTeam = null;
+		int teamPlayers = 0;
 
-		for (final ArenaPlayer cache : getArenaPlayers(ArenaJoinMode.PLAYING)) {
-			final ArenaTeam playerTeam = cache.getArenaTeam();
+		for (final Map.Entry<ArenaTeam, Set<ArenaPlayer>> entry : rosters.entrySet()) {
+			final int size = entry.getValue().size();
+
+			if (size == 0)
+				continue;
 
-			// If the player has another team it means there are 2+
-			// teams left, so we just return null
-			if (lastTeam != null && !playerTeam.equals(lastTeam))
+			// Another team has players, so there are 2+ teams left
+			if (lastTeam != null)
 				return null;
 
-			lastTeam = playerTeam;
+			lastTeam = entry.getKey();
+			teamPlayers = size;
 		}
 
-		return lastTeam;
+		return lastTeam != null && teamPlayers == getArenaPlayers(ArenaJoinMode.PLAYING).size() ? lastTeam : null;
 	}
 
 	/**
@@ -314,41 +336,48 @@ public abstract class TeamArena extends Arena {
 	 * @param reason
 	 */
 	protected final void leaveTeamPlayers(final ArenaTeam team, final ArenaLeaveReason reason) {
-		for (final ArenaPlayer cache : new ArrayList<>(getTeamPlayers(team)))
+		for (final ArenaPlayer cache : getTeamPlayers(team))
 			leavePlayer(cache.getPlayer(), reason);
 	}
 
 	/**
-	 * Return all teams with their players
+	 * Return all teams having players with their players
 	 *
 	 * @return
 	 */
 	protected final Map<ArenaTeam, List<ArenaPlayer>> getTeams() {
-		final StrictMap<ArenaTeam, List<ArenaPlayer>> map = new StrictMap<>();
-
-		for (final ArenaPlayer player : getArenaPlayers(ArenaJoinMode.PLAYING)) {
-			final ArenaTeam team = player.getArenaTeam();
-			final List<ArenaPlayer> teamPlayers = map.getOrDefault(team, new ArrayList<>());
+		final Map<ArenaTeam, List<ArenaPlayer>> map = new LinkedHashMap<>();
 
-			teamPlayers.add(player);
-			map.override(team, teamPlayers);
-		}
+		for (final Map.Entry<ArenaTeam, Set<ArenaPlayer>> entry : rosters.entrySet())
+			if (!entry.getValue().isEmpty())
+				map.put(entry.getKey(), new ArrayList<>(entry.getValue()));
 
-		return map.getSource();
+		return map;
 	}
 
 	/**
-	 * Find a team with lowest player count
+	 * Find a team with lowest player count, picking randomly
+	 * between teams having the same count
 	 *
 	 * @return
 	 */
 	protected final ArenaTeam getTeamWithLowestPlayers() {
-		final Map<Integer, ArenaTeam> teamsByPlayers = new TreeMap<>();
+		final List<ArenaTeam> lowestTeams = new ArrayList<>();
+		int lowestPlayers = Integer.MAX_VALUE;
+
+		for (final ArenaTeam team : getApplicableTeams()) {
+			final int size = getTeamSize(team);
+
+			if (size < lowestPlayers) {
+				lowestTeams.clear();
+				lowestPlayers = size;
+			}
 
-		for (final ArenaTeam team : getApplicableTeams())
-			teamsByPlayers.put(getTeamPlayers(team).size(), team);
+			if (size == lowestPlayers)
+				lowestTeams.add(team);
+		}
 
-		return teamsByPlayers.isEmpty() ? null : teamsByPlayers.values().iterator().next();
+		return lowestTeams.isEmpty() ? null : RandomUtil.nextItem(lowestTeams);
 	}
 
 	/**
@@ -358,19 +387,31 @@ public abstract class TeamArena extends Arena {
 	 * @return
 	 */
 	public final List<ArenaPlayer> getTeamPlayers(final ArenaTeam team) {
-		final List<ArenaPlayer> teamPlayers = new ArrayList<>();
+		final Set<ArenaPlayer> roster = rosters.get(team);
 
-		for (final ArenaPlayer cache : getArenaPlayers(ArenaJoinMode.PLAYING)) {
-			final ArenaTeam playerTeam = cache.getArenaTeam();
+		return roster != null ? new ArrayList<>(roster) : new ArrayList<>();
+	}
+
+	/**
+	 * Return how many players are playing in the given team
+	 *
+	 * @param team
+	 * @return
+	 */
+	public final int getTeamSize(final ArenaTeam team) {
+		final Set<ArenaPlayer> roster = team != null ? rosters.get(team) : null;
 
-			if (getState() == ArenaState.PLAYED && !isStarting())
-				Valid.checkNotNull(playerTeam, "Found player " + cache.getPlayer().getName() + " without a team!");
+		return roster != null ? roster.size() : 0;
+	}
 
-			if (playerTeam != null && playerTeam.equals(team))
-				teamPlayers.add(cache);
-		}
+	/*
+	 * Remove the player from the roster of his team
+	 */
+	private void removeFromRoster(final ArenaTeam team, final ArenaPlayer cache) {
+		final Set<ArenaPlayer> roster = rosters.get(team);
 
-		return teamPlayers;
+		if (roster != null)
+			roster.remove(cache);
 	}
 
 	/**
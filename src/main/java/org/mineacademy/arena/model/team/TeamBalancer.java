@@ -0,0 +1,375 @@
+package org.mineacademy.arena.model.team;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bukkit.entity.Player;
+import org.mineacademy.arena.model.ArenaJoinMode;
+import org.mineacademy.arena.model.ArenaLeaveReason;
+import org.mineacademy.arena.model.ArenaMatchmaker;
+import org.mineacademy.arena.model.ArenaPlayer;
+import org.mineacademy.arena.model.ArenaTeam;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.remain.Remain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Assigns all players without a team in one pass, always putting the next
+ * player into the smallest team he may join.
+ *
+ * Parties are kept together when possible and players who can join the fewest
+ * teams go first so that permissions do not leave teams uneven.
+ */
+@UtilityClass
+public final class TeamBalancer {
+
+	/**
+	 * Assign teams to all playing players without one, kicking those who cannot
+	 * get any team or would break the {@link TeamArenaSettings#getMaximumTeamImbalance()}
+	 *
+	 * @param arena
+	 * @return the result
+	 */
+	public Result balance(final TeamArena arena) {
+		final List<ArenaTeam> teams = new ArrayList<>(arena.getApplicableTeams());
+		final Map<ArenaPlayer, ArenaTeam> planned = new LinkedHashMap<>();
+		final List<ArenaPlayer> unassignable = new ArrayList<>();
+
+		// Shuffle so that ties between equally sized teams are broken randomly
+		Collections.shuffle(teams);
+
+		final Map<ArenaTeam, TeamLoad> loads = new LinkedHashMap<>();
+
+		for (int order = 0; order < teams.size(); order++)
+			loads.put(teams.get(order), new TeamLoad(teams.get(order), arena.getTeamSize(teams.get(order)), order));
+
+		final List<Unit> units = createUnits(arena, teams);
+
+		// Most constrained first, then larger parties
+		units.sort(Comparator.comparingInt((Unit unit) -> unit.allowedTeams.size()).thenComparingInt(unit -> -unit.members.size()));
+
+		final PriorityQueue<TeamLoad> heap = new PriorityQueue<>(loads.values());
+
+		for (final Unit unit : units) {
+			final TeamLoad load = pollSmallestAllowed(heap, unit.allowedTeams);
+
+			if (load == null) {
+				unassignable.addAll(unit.members);
+
+				continue;
+			}
+
+			for (final ArenaPlayer member : unit.members)
+				planned.put(member, load.team);
+
+			load.size += unit.members.size();
+			heap.add(load);
+		}
+
+		enforceImbalance(arena, loads, planned, unassignable);
+
+		// Apply the plan
+		for (final Map.Entry<ArenaPlayer, ArenaTeam> entry : planned.entrySet())
+			entry.getValue().assignTo(entry.getKey().getPlayer());
+
+		for (final ArenaPlayer cache : unassignable) {
+			if (arena.isStopped())
+				break;
+
+			arena.leavePlayer(cache.getPlayer(), ArenaLeaveReason.NO_TEAM);
+		}
+
+		final Result result = new Result(planned.size(), unassignable.size(), calculateImbalance(loads, getPlayableTeams(arena, loads)));
+
+		if (!planned.isEmpty() || !unassignable.isEmpty())
+			Common.log("Balanced " + Common.plural(result.getAssigned(), "player") + " into teams in arena " + arena.getName()
+					+ (result.getKicked() > 0 ? ", " + result.getKicked() + " could not join any team" : "")
+					+ ", imbalance is " + result.getImbalance());
+
+		return result;
+	}
+
+	/*
+	 * Group unassigned players into parties and singles with teams they may all join
+	 */
+	private List<Unit> createUnits(final TeamArena arena, final List<ArenaTeam> teams) {
+		final List<ArenaPlayer> unassigned = new ArrayList<>();
+		final Map<UUID, ArenaPlayer> unassignedById = new LinkedHashMap<>();
+
+		for (final ArenaPlayer cache : arena.getArenaPlayers(ArenaJoinMode.PLAYING))
+			if (cache.getArenaTeam() == null) {
+				unassigned.add(cache);
+				unassignedById.put(cache.getPlayer().getUniqueId(), cache);
+			}
+
+		final List<Unit> units = new ArrayList<>();
+		final Set<ArenaPlayer> grouped = new HashSet<>();
+
+		for (final ArenaPlayer cache : unassigned) {
+			if (grouped.contains(cache))
+				continue;
+
+			final List<ArenaPlayer> members = new ArrayList<>();
+			ArenaTeam partyTeam = null;
+
+			for (final UUID memberId : ArenaMatchmaker.getParty(cache.getPlayer())) {
+				final ArenaPlayer member = unassignedById.get(memberId);
+
+				if (member != null)
+					members.add(member);
+
+				// Follow a party member who already picked his team
+				else if (partyTeam == null) {
+					final Player online = Remain.getPlayerByUUID(memberId);
+					final ArenaPlayer picked = online != null && online.isOnline() ? ArenaPlayer.getCache(online) : null;
+
+					if (picked != null && picked.hasArena() && arena.equals(picked.getArena()))
+						partyTeam = picked.getArenaTeam();
+				}
+			}
+
+			if (members.isEmpty())
+				members.add(cache);
+
+			grouped.addAll(members);
+
+			final Set<ArenaTeam> allowedTeams = findAllowedTeams(arena, teams, members);
+
+			if (partyTeam != null && allowedTeams.contains(partyTeam)) {
+				allowedTeams.clear();
+				allowedTeams.add(partyTeam);
+			}
+
+			// Members who cannot share a team are balanced alone
+			if (allowedTeams.isEmpty() && members.size() > 1)
+				for (final ArenaPlayer member : members)
+					units.add(new Unit(Collections.singletonList(member), findAllowedTeams(arena, teams, Collections.singletonList(member))));
+
+			else
+				units.add(new Unit(members, allowedTeams));
+		}
+
+		return units;
+	}
+
+	/*
+	 * Return teams all given players may join
+	 */
+	private Set<ArenaTeam> findAllowedTeams(final TeamArena arena, final List<ArenaTeam> teams, final List<ArenaPlayer> members) {
+		final Set<ArenaTeam> allowedTeams = new HashSet<>();
+
+		teamLoop:
+		for (final ArenaTeam team : teams) {
+			for (final ArenaPlayer member : members)
+				if (!team.canAssign(member.getPlayer(), arena))
+					continue teamLoop;
+
+			allowedTeams.add(team);
+		}
+
+		return allowedTeams;
+	}
+
+	/*
+	 * Take the smallest team out of the heap that is allowed, putting back the skipped ones
+	 */
+	private TeamLoad pollSmallestAllowed(final PriorityQueue<TeamLoad> heap, final Set<ArenaTeam> allowedTeams) {
+		final List<TeamLoad> skipped = new ArrayList<>();
+		TeamLoad found = null;
+
+		while (!heap.isEmpty()) {
+			final TeamLoad load = heap.poll();
+
+			if (allowedTeams.contains(load.team)) {
+				found = load;
+
+				break;
+			}
+
+			skipped.add(load);
+		}
+
+		heap.addAll(skipped);
+		return found;
+	}
+
+	/*
+	 * Move or drop planned players from the largest team until the imbalance is within the limit
+	 */
+	private void enforceImbalance(final TeamArena arena, final Map<ArenaTeam, TeamLoad> loads, final Map<ArenaPlayer, ArenaTeam> planned, final List<ArenaPlayer> unassignable) {
+		final int maximumImbalance = arena.getSettings().getMaximumTeamImbalance();
+		final Set<ArenaTeam> playableTeams = getPlayableTeams(arena, loads);
+
+		while (calculateImbalance(loads, playableTeams) > maximumImbalance) {
+			final TeamLoad largest = findExtreme(loads, playableTeams, true);
+			final TeamLoad smallest = findExtreme(loads, playableTeams, false);
+
+			ArenaPlayer moved = null;
+			ArenaPlayer dropped = null;
+
+			for (final Map.Entry<ArenaPlayer, ArenaTeam> entry : planned.entrySet())
+				if (entry.getValue().equals(largest.team)) {
+					if (smallest.team.canAssign(entry.getKey().getPlayer(), arena)) {
+						moved = entry.getKey();
+
+						break;
+					}
+
+					if (dropped == null)
+						dropped = entry.getKey();
+				}
+
+			if (moved != null) {
+				planned.put(moved, smallest.team);
+				smallest.size++;
+
+			} else if (dropped != null) {
+				planned.remove(dropped);
+				unassignable.add(dropped);
+
+			} else
+				// Only players who picked their team are left in the largest team
+				break;
+
+			largest.size--;
+		}
+	}
+
+	/*
+	 * Return teams at least one playing player may join, teams nobody can join
+	 * are ignored when measuring the imbalance
+	 */
+	private Set<ArenaTeam> getPlayableTeams(final TeamArena arena, final Map<ArenaTeam, TeamLoad> loads) {
+		final Set<ArenaTeam> playableTeams = new HashSet<>();
+
+		for (final TeamLoad load : loads.values()) {
+			if (load.size > 0) {
+				playableTeams.add(load.team);
+
+				continue;
+			}
+
+			for (final ArenaPlayer cache : arena.getArenaPlayers(ArenaJoinMode.PLAYING)) {
+				final Player player = cache.getPlayer();
+
+				if (load.team.canAssign(player, arena)) {
+					playableTeams.add(load.team);
+
+					break;
+				}
+			}
+		}
+
+		return playableTeams;
+	}
+
+	/*
+	 * Return the difference between the largest and the smallest playable team
+	 */
+	private int calculateImbalance(final Map<ArenaTeam, TeamLoad> loads, final Set<ArenaTeam> playableTeams) {
+		final TeamLoad largest = findExtreme(loads, playableTeams, true);
+		final TeamLoad smallest = findExtreme(loads, playableTeams, false);
+
+		return largest != null && smallest != null ? largest.size - smallest.size : 0;
+	}
+
+	/*
+	 * Find the largest or smallest playable team
+	 */
+	private TeamLoad findExtreme(final Map<ArenaTeam, TeamLoad> loads, final Set<ArenaTeam> playableTeams, final boolean largest) {
+		TeamLoad extreme = null;
+
+		for (final TeamLoad load : loads.values())
+			if (playableTeams.contains(load.team) && (extreme == null || (largest ? load.size > extreme.size : load.size < extreme.size)))
+				extreme = load;
+
+		return extreme;
+	}
+
+	// ------–------–------–------–------–------–------–------–------–------–------–------–
+	// Classes
+	// ------–------–------–------–------–------–------–------–------–------–------–------–
+
+	/**
+	 * The outcome of balancing teams
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	public static final class Result {
+
+		/**
+		 * How many players got a team
+		 */
+		private final int assigned;
+
+		/**
+		 * How many players were kicked because they could not get any team
+		 */
+		private final int kicked;
+
+		/**
+		 * The difference in players between the largest and the smallest team
+		 */
+		private final int imbalance;
+	}
+
+	/*
+	 * A party or a single player assigned to the same team
+	 */
+	@RequiredArgsConstructor
+	private static final class Unit {
+
+		/**
+		 * Players to put into the same team
+		 */
+		private final List<ArenaPlayer> members;
+
+		/**
+		 * Teams all members may join
+		 */
+		private final Set<ArenaTeam> allowedTeams;
+	}
+
+	/*
+	 * A team with its planned amount of players, ordered by size in the heap
+	 */
+	private static final class TeamLoad implements Comparable<TeamLoad> {
+
+		/**
+		 * The team
+		 */
+		private final ArenaTeam team;
+
+		/**
+		 * Players in the team including the planned ones
+		 */
+		private int size;
+
+		/**
+		 * The random order used to break ties
+		 */
+		private final int order;
+
+		private TeamLoad(final ArenaTeam team, final int size, final int order) {
+			this.team = team;
+			this.size = size;
+			this.order = order;
+		}
+
+		@Override
+		public int compareTo(final TeamLoad other) {
+			return size != other.size ? Integer.compare(size, other.size) : Integer.compare(order, other.order);
+		}
+	}
+}
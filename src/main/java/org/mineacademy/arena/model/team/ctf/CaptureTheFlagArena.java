@@ -7,6 +7,8 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.mineacademy.arena.journal.JournalEvent;
+import org.mineacademy.arena.journal.MatchJournal;
 import org.mineacademy.arena.model.ArenaLeaveReason;
 import org.mineacademy.arena.model.ArenaPlayer;
 import org.mineacademy.arena.model.ArenaSettings;
@@ -126,6 +128,8 @@ public class CaptureTheFlagArena extends TeamArena {
 				int damage = getNumericEntityTag(victim, Constants.Tag.CRYSTAL_DAMAGE, 0);
 				final int threshold = getSettings().getCrystalHitThreshold();
 
+				MatchJournal.record(JournalEvent.CRYSTAL_HIT, this, attacker.getName(), crystalTeam.getName(), damage + 1);
+
 				if (++damage >= threshold) {
 					setTeamTag(crystalTeam, Constants.Tag.CRYSTAL_ALIVE, false);
 					leaveTeamPlayers(crystalTeam, ArenaLeaveReason.CRYSTAL_DESTROYED);
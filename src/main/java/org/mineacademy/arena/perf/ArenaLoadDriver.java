@@ -0,0 +1,423 @@
+package org.mineacademy.arena.perf;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.mineacademy.arena.model.Arena;
+import org.mineacademy.arena.model.ArenaClass;
+import org.mineacademy.arena.model.ArenaJoinMode;
+import org.mineacademy.arena.model.ArenaLeaveReason;
+import org.mineacademy.arena.model.ArenaPlayer;
+import org.mineacademy.arena.model.ArenaState;
+import org.mineacademy.arena.model.ArenaStopReason;
+import org.mineacademy.arena.model.ArenaTeam;
+import org.mineacademy.arena.model.team.TeamArena;
+import org.mineacademy.arena.settings.Settings;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.Valid;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Plays scripted matches on a test server so that load tests are the same every run.
+ *
+ * Only bots are driven, online players whose name starts with the prefix in settings.yml,
+ * usually connected by a load test client, and only when load tests are enabled there.
+ * Bots are spread over the given arenas, which are played at the same time: bots join,
+ * pick a team and a class like from the menus, the arenas start, bots are killed one by one
+ * during the fight and the rest leave at the end. Each step is recorded as its own phase
+ * by the {@link ArenaLoadRecorder} across all arenas and the report is sent to whoever
+ * started the run.
+ */
+@UtilityClass
+public class ArenaLoadDriver {
+
+	/**
+	 * How often the script checks on the arenas, in ticks
+	 */
+	private final int STEP_TICKS = 20;
+
+	/**
+	 * The arenas being played with their bots, empty if none
+	 */
+	private final List<Run> runs = new ArrayList<>();
+
+	/**
+	 * Who receives the report, null if not running
+	 */
+	private CommandSender sender;
+
+	/**
+	 * How many seconds each step takes at most
+	 */
+	private int phaseSeconds;
+
+	/**
+	 * The step being played in all arenas
+	 */
+	private Step current;
+
+	/**
+	 * How many times we checked on the current step
+	 */
+	private int stepsInPhase = 0;
+
+	/**
+	 * The task playing the script, null if none
+	 */
+	private BukkitTask task;
+
+	/**
+	 * Return true if a script is being played
+	 *
+	 * @return
+	 */
+	public boolean isRunning() {
+		return task != null;
+	}
+
+	/**
+	 * Return true if load tests are enabled and the player is named like a bot we may drive
+	 *
+	 * @param player
+	 * @return
+	 */
+	public boolean isBot(final Player player) {
+		final String prefix = Settings.LoadTest.BOT_PREFIX;
+
+		return Settings.LoadTest.ENABLED && prefix != null && !prefix.isEmpty() && player.getName().startsWith(prefix);
+	}
+
+	/**
+	 * Return how many arenas are being played
+	 *
+	 * @return
+	 */
+	public int getArenaCount() {
+		return runs.size();
+	}
+
+	/**
+	 * Return how many bots are being driven
+	 *
+	 * @return
+	 */
+	public int getBotCount() {
+		int count = 0;
+
+		for (final Run run : runs)
+			count += run.bots.size();
+
+		return count;
+	}
+
+	/**
+	 * Play the match in the given stopped arenas at once, spreading the given bots
+	 * over them up to their player limit, giving each phase the given amount of seconds at most
+	 *
+	 * @param sender who receives the report
+	 * @param arenas
+	 * @param bots
+	 * @param phaseSeconds
+	 */
+	public void start(final CommandSender sender, final List<Arena> arenas, final List<Player> bots, final int phaseSeconds) {
+		Valid.checkBoolean(Settings.LoadTest.ENABLED, "Load tests are disabled in settings.yml");
+		Valid.checkBoolean(!isRunning(), "A load test is already running");
+		Valid.checkBoolean(!ArenaLoadRecorder.isRecording(), "Load is already being recorded, stop it first");
+		Valid.checkBoolean(!arenas.isEmpty(), "There are no arenas to run the load test in");
+		Valid.checkBoolean(!bots.isEmpty(), "There are no bots to run the load test with");
+
+		for (final Arena arena : arenas)
+			Valid.checkBoolean(arena.isStopped(), "Arena " + arena.getName() + " must be stopped to run a load test");
+
+		for (final Player bot : bots)
+			Valid.checkBoolean(isBot(bot), "Player " + bot.getName() + " is not a bot, only players named " + Settings.LoadTest.BOT_PREFIX + "* are driven");
+
+		final List<Run> planned = new ArrayList<>();
+
+		for (final Arena arena : arenas)
+			planned.add(new Run(arena));
+
+		// Deal bots one by one so that all arenas fill up evenly
+		int index = 0;
+
+		for (final Player bot : bots)
+			for (int tried = 0; tried < planned.size(); tried++) {
+				final Run run = planned.get(index++ % planned.size());
+
+				if (run.bots.size() < run.arena.getSettings().getMaxPlayers()) {
+					run.bots.add(bot);
+
+					break;
+				}
+			}
+
+		for (final Run run : planned)
+			if (!run.bots.isEmpty())
+				runs.add(run);
+
+		ArenaLoadDriver.sender = sender;
+		ArenaLoadDriver.phaseSeconds = phaseSeconds;
+
+		task = Common.runTimer(STEP_TICKS, ArenaLoadDriver::step);
+
+		enter(Step.JOIN);
+	}
+
+	/**
+	 * Stop playing the script, stopping the arenas and returning the report so far
+	 *
+	 * @return
+	 */
+	public List<String> cancel() {
+		if (!isRunning())
+			return new ArrayList<>();
+
+		return finish();
+	}
+
+	/*
+	 * Check on all arenas, moving them to the next step together once all are done
+	 * with the current one or it timed out
+	 */
+	private void step() {
+		try {
+			final boolean timedOut = ++stepsInPhase * STEP_TICKS >= phaseSeconds * 20;
+			boolean done = true;
+
+			for (final Run run : runs)
+				if (!run.step(current))
+					done = false;
+
+			if (!done && !timedOut)
+				return;
+
+			if (current == Step.LEAVE)
+				sender.sendMessage(finish().toArray(new String[0]));
+			else
+				enter(Step.values()[current.ordinal() + 1]);
+
+		} catch (final Throwable t) {
+			Common.error(t, "Load test failed, stopping it");
+
+			finish();
+		}
+	}
+
+	/*
+	 * Start recording the given step and do what it begins with in all arenas
+	 */
+	private void enter(final Step step) {
+		current = step;
+		stepsInPhase = 0;
+
+		ArenaLoadRecorder.startPhase(step.name().toLowerCase(Locale.ROOT));
+
+		for (final Run run : runs)
+			run.enter(step);
+	}
+
+	/*
+	 * Stop the task and the arenas and return the report
+	 */
+	private List<String> finish() {
+		task.cancel();
+		task = null;
+		sender = null;
+
+		for (final Run run : runs)
+			if (!run.arena.isStopped())
+				run.arena.stopArena(ArenaStopReason.COMMAND);
+
+		runs.clear();
+
+		return ArenaLoadRecorder.stop();
+	}
+
+	/*
+	 * The steps of the match, each recorded as a phase, in the order they are played
+	 */
+	private enum Step {
+		JOIN,
+		SELECT,
+		START,
+		FIGHT,
+		LEAVE
+	}
+
+	/*
+	 * One arena played with its bots
+	 */
+	private final class Run {
+
+		private final Arena arena;
+		private final List<Player> bots = new ArrayList<>();
+
+		private Run(final Arena arena) {
+			this.arena = arena;
+		}
+
+		/*
+		 * Do what the given step begins with
+		 */
+		private void enter(final Step step) {
+			if (step == Step.JOIN)
+				arena.joinPlayers(bots, ArenaJoinMode.PLAYING);
+
+			else if (step == Step.SELECT)
+				selectAll();
+
+			else if (step == Step.START && arena.getState() == ArenaState.LOBBY)
+				arena.startArena();
+		}
+
+		/*
+		 * Check on the given step, returning true when this arena is done with it
+		 */
+		private boolean step(final Step step) {
+			switch (step) {
+				case JOIN:
+					return arena.isStopped() || getJoinedBots(ArenaJoinMode.PLAYING).size() >= countOnline();
+
+				case SELECT:
+					return true;
+
+				case START:
+					return arena.isStopped() || arena.isPlayed() && !arena.isStarting();
+
+				case FIGHT:
+					if (!arena.isPlayed())
+						return true;
+
+					killRandomBot();
+					return false;
+
+				case LEAVE:
+					if (arena.isStopped())
+						return true;
+
+					leaveBots();
+					return false;
+			}
+
+			return true;
+		}
+
+		/*
+		 * Let each bot in the lobby pick a team and a class, the way the selection menus do
+		 */
+		private void selectAll() {
+			if (arena.getState() != ArenaState.LOBBY)
+				return;
+
+			for (final Player bot : getJoinedBots(ArenaJoinMode.PLAYING)) {
+				if (arena.hasTeamSelection())
+					selectTeam(bot);
+
+				if (arena.hasClassSelection())
+					selectClass(bot);
+			}
+		}
+
+		/*
+		 * Assign the bot a random team it may join without unbalancing the teams
+		 */
+		private void selectTeam(final Player bot) {
+			final TeamArena teamArena = (TeamArena) arena;
+			final List<ArenaTeam> teams = new ArrayList<>(ArenaTeam.getTeams());
+
+			Collections.shuffle(teams);
+
+			for (final ArenaTeam team : teams)
+				if (team.canAssign(bot, arena) && teamArena.isBalancedJoin(team, false)) {
+					team.assignTo(bot);
+
+					return;
+				}
+		}
+
+		/*
+		 * Assign the bot a random class it may use
+		 */
+		private void selectClass(final Player bot) {
+			final List<ArenaClass> classes = new ArrayList<>(ArenaClass.getClasses());
+
+			Collections.shuffle(classes);
+
+			for (final ArenaClass arenaClass : classes)
+				if (arenaClass.canAssign(bot, arena)) {
+					arenaClass.assignTo(bot);
+
+					return;
+				}
+		}
+
+		/*
+		 * Kill one living bot in the arena, keeping the last one alive so that the fight goes on
+		 */
+		private void killRandomBot() {
+			final List<Player> alive = new ArrayList<>();
+
+			for (final Player bot : getJoinedBots(ArenaJoinMode.PLAYING))
+				if (!bot.isDead())
+					alive.add(bot);
+
+			if (alive.size() > 1) {
+				Collections.shuffle(alive);
+
+				alive.get(0).setHealth(0);
+			}
+		}
+
+		/*
+		 * Make a share of the bots leave so that all are gone when the phase ends
+		 */
+		private void leaveBots() {
+			final List<Player> joined = new ArrayList<>();
+
+			for (final ArenaJoinMode mode : ArenaJoinMode.values())
+				joined.addAll(getJoinedBots(mode));
+
+			final int stepsLeft = Math.max(1, phaseSeconds * 20 / STEP_TICKS - stepsInPhase);
+			final int amount = (joined.size() + stepsLeft - 1) / stepsLeft;
+
+			for (final Player bot : joined.subList(0, Math.min(amount, joined.size())))
+				if (!arena.isStopped())
+					arena.leavePlayer(bot, ArenaLeaveReason.COMMAND);
+		}
+
+		/*
+		 * Return our bots in the arena in the given mode, never anyone else who joined it
+		 */
+		private List<Player> getJoinedBots(final ArenaJoinMode mode) {
+			final List<Player> joined = new ArrayList<>();
+
+			for (final ArenaPlayer cache : arena.getArenaPlayers(mode)) {
+				final Player player = cache.getPlayer();
+
+				if (player != null && bots.contains(player) && isBot(player))
+					joined.add(player);
+			}
+
+			return joined;
+		}
+
+		/*
+		 * Return how many of our bots are still online
+		 */
+		private int countOnline() {
+			int online = 0;
+
+			for (final Player bot : bots)
+				if (bot.isOnline())
+					online++;
+
+			return online;
+		}
+	}
+}
@@ -0,0 +1,385 @@
+package org.mineacademy.arena.perf;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.scheduler.BukkitTask;
+import org.mineacademy.arena.model.Arena;
+import org.mineacademy.arena.model.ArenaManager;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.plugin.SimplePlugin;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Records server load during a load test, split into named phases such as
+ * "join", "start" or "fight", so that runs before and after a change can be compared.
+ *
+ * For each phase we keep tick durations, bytes allocated on the main thread
+ * and garbage collections. Start a phase with {@link #startPhase(String)} and
+ * finish the run with {@link #stop()}, which saves a report to the perf folder,
+ * or let the {@link ArenaLoadDriver} play the phases.
+ *
+ * On Paper we read how long each tick took from its tick end event. Other servers
+ * only let us measure the interval between ticks, which is 50 ms when the server
+ * keeps up, so the report says which one it shows.
+ */
+@UtilityClass
+public class ArenaLoadRecorder {
+
+	/**
+	 * The Paper event fired after each tick, telling how long it took
+	 */
+	private final String TICK_END_EVENT = "com.destroystokyo.paper.event.server.ServerTickEndEvent";
+
+	/**
+	 * Ticks taking longer than this are slow, the tick budget
+	 */
+	private final long SLOW_TICK_NANOS = 50_000_000L;
+
+	/**
+	 * Intervals between ticks longer than this are slow, leaving room for scheduler jitter
+	 */
+	private final long SLOW_INTERVAL_NANOS = 55_000_000L;
+
+	/**
+	 * Phases recorded in this run, the last one is running
+	 */
+	private final List<Phase> phases = new ArrayList<>();
+
+	/**
+	 * Are we recording right now?
+	 */
+	private boolean recording = false;
+
+	/**
+	 * True if we measure how long ticks took, false if only the interval between them
+	 */
+	private boolean measuringDuration = false;
+
+	/**
+	 * The task measuring intervals between ticks, null if not recording or on Paper
+	 */
+	private BukkitTask tickTask;
+
+	/**
+	 * Our listener for the Paper tick end event, null if not recording or not on Paper
+	 */
+	private Listener tickListener;
+
+	/**
+	 * When the previous tick started, 0 if not known
+	 */
+	private long lastTickNanos = 0;
+
+	/**
+	 * Return true if we are recording
+	 *
+	 * @return
+	 */
+	public boolean isRecording() {
+		return recording;
+	}
+
+	/**
+	 * Finish the current phase if any and start a new one, starting recording if needed
+	 *
+	 * @param name
+	 */
+	public void startPhase(final String name) {
+		if (!phases.isEmpty())
+			getCurrentPhase().finish();
+
+		phases.add(new Phase(name));
+
+		if (!recording) {
+			recording = true;
+			measuringDuration = listenToTickEnd();
+
+			if (!measuringDuration) {
+				lastTickNanos = 0;
+				tickTask = Common.runTimer(1, ArenaLoadRecorder::onTick);
+			}
+		}
+	}
+
+	/**
+	 * Finish recording and save the report
+	 *
+	 * @return the report lines, empty if we were not recording
+	 */
+	public List<String> stop() {
+		if (!recording)
+			return new ArrayList<>();
+
+		if (tickTask != null) {
+			tickTask.cancel();
+			tickTask = null;
+		}
+
+		if (tickListener != null) {
+			HandlerList.unregisterAll(tickListener);
+			tickListener = null;
+		}
+
+		recording = false;
+		getCurrentPhase().finish();
+
+		final List<String> report = new ArrayList<>();
+		final String measure = measuringDuration ? "tick duration" : "tick interval";
+		final long slowNanos = measuringDuration ? SLOW_TICK_NANOS : SLOW_INTERVAL_NANOS;
+
+		report.add("Arena load report from " + new Date() + ", " + Common.plural(ArenaManager.getArenas().size(), "arena") + " loaded");
+
+		if (!measuringDuration)
+			report.add("This server cannot tell how long ticks took, showing the time between ticks instead (50 ms when keeping up)");
+
+		report.add("phase | ticks | " + measure + " ms avg/p50/p99/max | ticks over " + slowNanos / 1_000_000 + " ms | main thread MB allocated | GC count/ms | players at end");
+
+		for (final Phase phase : phases)
+			report.add(phase.describe(slowNanos));
+
+		phases.clear();
+		save(report);
+
+		return report;
+	}
+
+	/*
+	 * Return the phase being recorded
+	 */
+	private Phase getCurrentPhase() {
+		return phases.get(phases.size() - 1);
+	}
+
+	/*
+	 * Listen to the Paper tick end event if the server has it, returning false if not
+	 */
+	private boolean listenToTickEnd() {
+		final Class<? extends Event> eventClass;
+		final MethodHandle durationGetter;
+
+		try {
+			eventClass = Class.forName(TICK_END_EVENT).asSubclass(Event.class);
+			durationGetter = MethodHandles.publicLookup().unreflect(eventClass.getMethod("getTickDuration"));
+
+		} catch (final ReflectiveOperationException ex) {
+			return false;
+		}
+
+		tickListener = new Listener() {
+		};
+
+		Bukkit.getPluginManager().registerEvent(eventClass, tickListener, EventPriority.MONITOR, (listener, event) -> {
+			if (!eventClass.isInstance(event) || phases.isEmpty())
+				return;
+
+			try {
+				// Milliseconds as a double
+				final double millis = (double) durationGetter.invoke(event);
+
+				getCurrentPhase().recordTick((long) (millis * 1_000_000D));
+
+			} catch (final Throwable t) {
+				Common.error(t, "Failed to read the tick duration");
+			}
+		}, SimplePlugin.getInstance());
+
+		return true;
+	}
+
+	/*
+	 * Measure how long passed since the previous tick
+	 */
+	private void onTick() {
+		final long now = System.nanoTime();
+
+		if (lastTickNanos != 0 && !phases.isEmpty())
+			getCurrentPhase().recordTick(now - lastTickNanos);
+
+		lastTickNanos = now;
+	}
+
+	/*
+	 * Write the report to a new file in the perf folder
+	 */
+	private void save(final List<String> report) {
+		final File file = new File(SimplePlugin.getData(), "perf/load-" + new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date()) + ".txt");
+
+		try {
+			file.getParentFile().mkdirs();
+
+			Files.write(file.toPath(), report, StandardCharsets.UTF_8);
+			Common.log("Saved load report to " + file.getPath());
+
+		} catch (final IOException ex) {
+			Common.error(ex, "Failed to save load report to " + file);
+		}
+	}
+
+	/*
+	 * Return how many bytes the current thread has allocated, or -1 if the JVM cannot tell
+	 */
+	private long getAllocatedBytes() {
+		final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+		if (bean instanceof com.sun.management.ThreadMXBean)
+			try {
+				return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+
+			} catch (final UnsupportedOperationException ex) {
+				// Disabled in this JVM
+			}
+
+		return -1;
+	}
+
+	/*
+	 * Return the total collection count and time of all collectors
+	 */
+	private long[] getGarbageCollections() {
+		long count = 0;
+		long millis = 0;
+
+		for (final GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, bean.getCollectionCount());
+			millis += Math.max(0, bean.getCollectionTime());
+		}
+
+		return new long[] { count, millis };
+	}
+
+	/*
+	 * Load measured during one phase
+	 */
+	private final class Phase {
+
+		/**
+		 * The phase name given by the tester
+		 */
+		private final String name;
+
+		/**
+		 * Bytes allocated by the main thread when the phase started, -1 if unknown
+		 */
+		private final long startAllocated = getAllocatedBytes();
+
+		/**
+		 * Collection count and time when the phase started
+		 */
+		private final long[] startCollections = getGarbageCollections();
+
+		/**
+		 * Tick durations in nanoseconds, only the first {@link #ticks} are used
+		 */
+		private long[] tickNanos = new long[20 * 60];
+
+		/**
+		 * How many ticks were recorded
+		 */
+		private int ticks = 0;
+
+		/**
+		 * Bytes allocated during the phase, set when finished
+		 */
+		private long allocated = -1;
+
+		/**
+		 * Collection count and time during the phase, set when finished
+		 */
+		private long[] collections = { 0, 0 };
+
+		/**
+		 * Players in all arenas when the phase finished
+		 */
+		private int players = 0;
+
+		private Phase(final String name) {
+			this.name = name;
+		}
+
+		/*
+		 * Add one tick
+		 */
+		private void recordTick(final long nanos) {
+			if (ticks == tickNanos.length)
+				tickNanos = Arrays.copyOf(tickNanos, ticks * 2);
+
+			tickNanos[ticks++] = nanos;
+		}
+
+		/*
+		 * Take the final readings, called on the main thread
+		 */
+		private void finish() {
+			final long endAllocated = getAllocatedBytes();
+			final long[] endCollections = getGarbageCollections();
+
+			allocated = startAllocated != -1 && endAllocated != -1 ? endAllocated - startAllocated : -1;
+			collections = new long[] { endCollections[0] - startCollections[0], endCollections[1] - startCollections[1] };
+
+			players = 0;
+
+			for (final Arena arena : ArenaManager.getArenas())
+				players += arena.getPlayersInAllModes().size();
+		}
+
+		/*
+		 * Return one report line
+		 */
+		private String describe(final long slowNanos) {
+			final long[] sorted = Arrays.copyOf(tickNanos, ticks);
+			Arrays.sort(sorted);
+
+			long total = 0;
+			int slow = 0;
+
+			for (final long nanos : sorted) {
+				total += nanos;
+
+				if (nanos > slowNanos)
+					slow++;
+			}
+
+			return String.format("%s | %d | %s/%s/%s/%s | %d | %s | %d/%d | %d",
+					name,
+					ticks,
+					millis(ticks == 0 ? 0 : total / ticks), millis(percentile(sorted, 0.5)), millis(percentile(sorted, 0.99)), millis(ticks == 0 ? 0 : sorted[ticks - 1]),
+					slow,
+					allocated == -1 ? "n/a" : String.format("%.1f", allocated / 1024D / 1024D),
+					collections[0], collections[1],
+					players);
+		}
+
+		/*
+		 * Return the value at the given fraction of the sorted values
+		 */
+		private long percentile(final long[] sorted, final double fraction) {
+			return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * fraction) - 1)];
+		}
+
+		/*
+		 * Convert nanoseconds to milliseconds with two decimals
+		 */
+		private String millis(final long nanos) {
+			return String.format("%.2f", nanos / 1_000_000D);
+		}
+	}
+}
@@ -0,0 +1,432 @@
+package org.mineacademy.arena.perf;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.bukkit.scheduler.BukkitTask;
+import org.mineacademy.arena.model.Arena;
+import org.mineacademy.arena.model.ArenaJoinMode;
+import org.mineacademy.arena.model.ArenaManager;
+import org.mineacademy.arena.model.ArenaPlayer;
+import org.mineacademy.arena.model.ArenaSaveQueue;
+import org.mineacademy.arena.model.ArenaState;
+import org.mineacademy.arena.settings.Settings;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.plugin.SimplePlugin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Collects arena statistics into atomic counters and exposes them in the
+ * Prometheus text format, served on localhost and/or written to metrics.prom.
+ *
+ * Counts of arenas and players are refreshed on the main thread each second,
+ * everything else is counted as it happens. Rendering only reads atomics,
+ * so it is safe from the HTTP and file writing threads.
+ */
+@UtilityClass
+public class ArenaMetrics {
+
+	/**
+	 * How often we write the metrics file, in ticks
+	 */
+	private final int FILE_PERIOD_TICKS = 15 * 20;
+
+	/**
+	 * Loaded arenas per {@link ArenaState} ordinal
+	 */
+	private final AtomicLongArray arenasByState = new AtomicLongArray(ArenaState.values().length);
+
+	/**
+	 * Players in arenas per {@link ArenaJoinMode} ordinal
+	 */
+	private final AtomicLongArray playersByMode = new AtomicLongArray(ArenaJoinMode.values().length);
+
+	/**
+	 * Files waiting in the {@link ArenaSaveQueue}
+	 */
+	private final AtomicLong saveQueueDepth = new AtomicLong();
+
+	/**
+	 * Player data loads and saves scheduled but not finished yet
+	 */
+	private final AtomicLong databaseTasks = new AtomicLong();
+
+	/**
+	 * How long games lasted, by arena type
+	 */
+	private final Map<String, Summary> gameDurations = new ConcurrentHashMap<>();
+
+	/**
+	 * How long lobbies waited before the game started, by arena type
+	 */
+	private final Map<String, Summary> lobbyWaits = new ConcurrentHashMap<>();
+
+	/**
+	 * How long restoring arena regions took
+	 */
+	private final Summary mapRestores = new Summary();
+
+	/**
+	 * How long restoring arena worlds took
+	 */
+	private final Summary worldRestores = new Summary();
+
+	/**
+	 * The running HTTP server or null
+	 */
+	private HttpServer server;
+
+	/**
+	 * The thread answering HTTP requests or null
+	 */
+	private ExecutorService serverExecutor;
+
+	/**
+	 * The task refreshing arena and player counts or null
+	 */
+	private BukkitTask updateTask;
+
+	/**
+	 * The task writing the metrics file or null
+	 */
+	private BukkitTask fileTask;
+
+	// ------–------–------–------–------–------–------–------–------–------–------–------–
+	// Lifecycle
+	// ------–------–------–------–------–------–------–------–------–------–------–------–
+
+	/**
+	 * Start exporting if enabled in settings, stopping the previous export first
+	 */
+	public void start() {
+		stop();
+
+		if (!Settings.Metrics.ENABLED)
+			return;
+
+		updateTask = Common.runTimer(20, ArenaMetrics::update);
+
+		if (Settings.Metrics.FILE)
+			fileTask = Common.runTimerAsync(FILE_PERIOD_TICKS, ArenaMetrics::writeFile);
+
+		if (Settings.Metrics.PORT > 0)
+			try {
+				serverExecutor = Executors.newSingleThreadExecutor(runnable -> {
+					final Thread thread = new Thread(runnable, "Arena Metrics");
+					thread.setDaemon(true);
+
+					return thread;
+				});
+
+				server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), Settings.Metrics.PORT), 0);
+				server.createContext("/metrics", ArenaMetrics::handle);
+				server.setExecutor(serverExecutor);
+				server.start();
+
+				Common.log("Serving arena metrics on http://127.0.0.1:" + Settings.Metrics.PORT + "/metrics");
+
+			} catch (final IOException ex) {
+				Common.error(ex, "Failed to serve arena metrics on port " + Settings.Metrics.PORT);
+
+				stop();
+			}
+	}
+
+	/**
+	 * Stop serving and writing metrics, counters are kept
+	 */
+	public void stop() {
+		if (updateTask != null) {
+			updateTask.cancel();
+
+			updateTask = null;
+		}
+
+		if (fileTask != null) {
+			fileTask.cancel();
+
+			fileTask = null;
+		}
+
+		if (server != null) {
+			server.stop(0);
+
+			server = null;
+		}
+
+		if (serverExecutor != null) {
+			serverExecutor.shutdownNow();
+
+			serverExecutor = null;
+		}
+	}
+
+	// ------–------–------–------–------–------–------–------–------–------–------–------–
+	// Recording
+	// ------–------–------–------–------–------–------–------–------–------–------–------–
+
+	/**
+	 * Record a finished game
+	 *
+	 * @param arena
+	 * @param millis
+	 */
+	public void recordGameDuration(final Arena arena, final long millis) {
+		gameDurations.computeIfAbsent(arena.getType(), type -> new Summary()).record(millis);
+	}
+
+	/**
+	 * Record how long the lobby waited before the game started
+	 *
+	 * @param arena
+	 * @param millis
+	 */
+	public void recordLobbyWait(final Arena arena, final long millis) {
+		lobbyWaits.computeIfAbsent(arena.getType(), type -> new Summary()).record(millis);
+	}
+
+	/**
+	 * Record a finished region restore
+	 *
+	 * @param millis
+	 */
+	public void recordMapRestore(final long millis) {
+		mapRestores.record(millis);
+	}
+
+	/**
+	 * Record a finished world restore
+	 *
+	 * @param millis
+	 */
+	public void recordWorldRestore(final long millis) {
+		worldRestores.record(millis);
+	}
+
+	/**
+	 * Call when a player data load or save is scheduled
+	 */
+	public void onDatabaseTaskQueued() {
+		databaseTasks.incrementAndGet();
+	}
+
+	/**
+	 * Call when a player data load or save has finished
+	 */
+	public void onDatabaseTaskDone() {
+		databaseTasks.decrementAndGet();
+	}
+
+	/*
+	 * Count arenas and players, called each second on the main thread
+	 */
+	private void update() {
+		final long[] states = new long[ArenaState.values().length];
+		final long[] modes = new long[ArenaJoinMode.values().length];
+
+		for (final Arena arena : ArenaManager.getArenas()) {
+			states[arena.getState().ordinal()]++;
+
+			for (final ArenaPlayer cache : arena.getArenaPlayersInAllModes())
+				if (cache.getMode() != null)
+					modes[cache.getMode().ordinal()]++;
+		}
+
+		for (int i = 0; i < states.length; i++)
+			arenasByState.set(i, states[i]);
+
+		for (int i = 0; i < modes.length; i++)
+			playersByMode.set(i, modes[i]);
+
+		saveQueueDepth.set(ArenaSaveQueue.size());
+	}
+
+	// ------–------–------–------–------–------–------–------–------–------–------–------–
+	// Exporting
+	// ------–------–------–------–------–------–------–------–------–------–------–------–
+
+	/**
+	 * Render all metrics in the Prometheus text format
+	 *
+	 * @return
+	 */
+	public String render() {
+		final StringBuilder out = new StringBuilder(4096);
+
+		header(out, "arena_arenas", "gauge", "Loaded arenas by state");
+
+		for (final ArenaState state : ArenaState.values())
+			sample(out, "arena_arenas", "state", state.name().toLowerCase(Locale.ROOT), arenasByState.get(state.ordinal()));
+
+		header(out, "arena_players", "gauge", "Players in arenas by join mode");
+
+		for (final ArenaJoinMode mode : ArenaJoinMode.values())
+			sample(out, "arena_players", "mode", mode.name().toLowerCase(Locale.ROOT), playersByMode.get(mode.ordinal()));
+
+		header(out, "arena_save_queue_depth", "gauge", "Arena, class and team files waiting to be saved");
+		sample(out, "arena_save_queue_depth", null, null, saveQueueDepth.get());
+
+		header(out, "arena_database_tasks", "gauge", "Player data loads and saves waiting or running");
+		sample(out, "arena_database_tasks", null, null, databaseTasks.get());
+
+		summaries(out, "arena_game_duration_seconds", "How long games lasted", gameDurations);
+		summaries(out, "arena_lobby_wait_seconds", "How long lobbies waited before the game started", lobbyWaits);
+
+		header(out, "arena_map_restore_seconds", "summary", "How long restoring arena regions took");
+		mapRestores.render(out, "arena_map_restore_seconds", null);
+
+		header(out, "arena_world_restore_seconds", "summary", "How long restoring arena worlds took");
+		worldRestores.render(out, "arena_world_restore_seconds", null);
+
+		if (ArenaTimings.isEnabled()) {
+			// A summary without _sum and _count, since we only keep the last minute
+			header(out, "arena_handler_latency_seconds", "summary", "Event handler and arena callback latency over the last minute, see /arena perf");
+
+			for (final TimingHistogram histogram : ArenaTimings.getHistograms()) {
+				final TimingHistogram.Snapshot snapshot = histogram.snapshot(60);
+
+				if (snapshot.getCount() == 0)
+					continue;
+
+				out.append("arena_handler_latency_seconds{handler=\"").append(escape(histogram.getName())).append("\",quantile=\"0.5\"} ").append(snapshot.getP50() / 1_000_000_000D).append('\n');
+				out.append("arena_handler_latency_seconds{handler=\"").append(escape(histogram.getName())).append("\",quantile=\"0.99\"} ").append(snapshot.getP99() / 1_000_000_000D).append('\n');
+				out.append("arena_handler_latency_seconds{handler=\"").append(escape(histogram.getName())).append("\",quantile=\"1\"} ").append(snapshot.getMax() / 1_000_000_000D).append('\n');
+			}
+
+			header(out, "arena_handler_calls_per_second", "gauge", "Event handler and arena callback calls per second over the last minute");
+
+			for (final TimingHistogram histogram : ArenaTimings.getHistograms()) {
+				final TimingHistogram.Snapshot snapshot = histogram.snapshot(60);
+
+				if (snapshot.getCount() > 0)
+					out.append("arena_handler_calls_per_second{handler=\"").append(escape(histogram.getName())).append("\"} ").append(snapshot.getRate()).append('\n');
+			}
+		}
+
+		return out.toString();
+	}
+
+	/*
+	 * Answer a scrape
+	 */
+	private void handle(final HttpExchange exchange) throws IOException {
+		try {
+			final byte[] body = render().getBytes(StandardCharsets.UTF_8);
+
+			exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+			exchange.sendResponseHeaders(200, body.length);
+
+			try (OutputStream output = exchange.getResponseBody()) {
+				output.write(body);
+			}
+
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/*
+	 * Replace metrics.prom with the current metrics, called async
+	 */
+	private void writeFile() {
+		final File file = new File(SimplePlugin.getData(), "metrics.prom");
+		final File temporary = new File(SimplePlugin.getData(), "metrics.prom.tmp");
+
+		try {
+			Files.write(temporary.toPath(), render().getBytes(StandardCharsets.UTF_8));
+			Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		} catch (final IOException ex) {
+			Common.error(ex, "Failed to write arena metrics to " + file);
+		}
+	}
+
+	/*
+	 * Write the help and type lines of a metric
+	 */
+	private void header(final StringBuilder out, final String name, final String type, final String help) {
+		out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+		out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+	}
+
+	/*
+	 * Write one sample with an optional label
+	 */
+	private void sample(final StringBuilder out, final String name, final String label, final String value, final long sample) {
+		out.append(name);
+
+		if (label != null)
+			out.append('{').append(label).append("=\"").append(escape(value)).append("\"}");
+
+		out.append(' ').append(sample).append('\n');
+	}
+
+	/*
+	 * Write summaries labeled by arena type, sorted for stable output
+	 */
+	private void summaries(final StringBuilder out, final String name, final String help, final Map<String, Summary> summaries) {
+		header(out, name, "summary", help);
+
+		for (final Map.Entry<String, Summary> entry : new TreeMap<>(summaries).entrySet())
+			entry.getValue().render(out, name, "type=\"" + escape(entry.getKey()) + "\"");
+	}
+
+	/*
+	 * Escape a label value
+	 */
+	private String escape(final String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+	/*
+	 * A count and a sum of durations in milliseconds
+	 */
+	private final class Summary {
+
+		/**
+		 * How many durations were recorded
+		 */
+		private final AtomicLong count = new AtomicLong();
+
+		/**
+		 * All durations added up in milliseconds
+		 */
+		private final AtomicLong sumMillis = new AtomicLong();
+
+		/*
+		 * Add one duration
+		 */
+		private void record(final long millis) {
+			count.incrementAndGet();
+			sumMillis.addAndGet(Math.max(millis, 0));
+		}
+
+		/*
+		 * Write the sum and count samples, labels are optional
+		 */
+		private void render(final StringBuilder out, final String name, final String labels) {
+			final String suffix = labels != null ? "{" + labels + "}" : "";
+
+			out.append(name).append("_sum").append(suffix).append(' ').append(sumMillis.get() / 1000D).append('\n');
+			out.append(name).append("_count").append(suffix).append(' ').append(count.get()).append('\n');
+		}
+	}
+}
@@ -0,0 +1,332 @@
+package org.mineacademy.arena.perf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.mineacademy.arena.model.Arena;
+import org.mineacademy.arena.settings.Settings;
+import org.mineacademy.fo.Common;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Attributes time spent on the main thread to the arena it was spent for,
+ * keeping the last minute per second, and warns when an arena costs
+ * more than {@link Settings.Profiler#WARN_MS_PER_TICK}.
+ *
+ * Only use from the main thread.
+ */
+@UtilityClass
+public class ArenaProfiler {
+
+	/**
+	 * How many seconds of history we keep per arena
+	 */
+	private final int WINDOW_SECONDS = 60;
+
+	/**
+	 * How long to wait before warning about the same arena again
+	 */
+	private final long WARN_COOLDOWN_MILLIS = 60_000;
+
+	/**
+	 * Recorded costs by arena name, survives arena reloads
+	 */
+	private final Map<String, ArenaCost> costs = new HashMap<>();
+
+	/**
+	 * Return true if we attribute time to arenas right now
+	 *
+	 * @return
+	 */
+	public boolean isEnabled() {
+		return Settings.Profiler.ENABLED;
+	}
+
+	/**
+	 * Return the time to pass to {@link #stop(Arena, Section, long)}, or 0 if the profiler is disabled
+	 *
+	 * @return
+	 */
+	public long start() {
+		return isEnabled() ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Attribute the time since the given start to the arena
+	 *
+	 * @param arena
+	 * @param section
+	 * @param start
+	 */
+	public void stop(final Arena arena, final Section section, final long start) {
+		if (start != 0)
+			record(arena, section, System.nanoTime() - start);
+	}
+
+	/**
+	 * Attribute the given time to the arena
+	 *
+	 * @param arena
+	 * @param section
+	 * @param nanos
+	 */
+	public void record(final Arena arena, final Section section, final long nanos) {
+		if (isEnabled())
+			costs.computeIfAbsent(arena.getName(), ArenaCost::new).record(section, nanos, System.currentTimeMillis() / 1000);
+	}
+
+	/**
+	 * Attribute the time since the given {@link System#currentTimeMillis()} to the arena,
+	 * used for chunked tasks which only tell us when their batch started
+	 *
+	 * @param arena
+	 * @param section
+	 * @param startMillis
+	 */
+	public void recordSince(final Arena arena, final Section section, final long startMillis) {
+		record(arena, section, (System.currentTimeMillis() - startMillis) * 1_000_000L);
+	}
+
+	/**
+	 * Forget all recorded costs
+	 */
+	public void reset() {
+		costs.clear();
+	}
+
+	/**
+	 * Warn in the console about arenas that cost too much during the last whole second,
+	 * called each second
+	 */
+	public void checkBudgets() {
+		if (!isEnabled())
+			return;
+
+		final long now = System.currentTimeMillis();
+		final long lastSecond = now / 1000 - 1;
+
+		for (final ArenaCost cost : costs.values()) {
+			final long[] sections = cost.getSecond(lastSecond);
+
+			if (sections == null)
+				continue;
+
+			final double millisPerTick = sum(sections) / 1_000_000D / 20;
+
+			if (millisPerTick > Settings.Profiler.WARN_MS_PER_TICK && now - cost.lastWarning > WARN_COOLDOWN_MILLIS) {
+				cost.lastWarning = now;
+
+				Common.log("&cArena " + cost.name + " took " + String.format("%.2f", millisPerTick) + " ms per tick in the last second, over the "
+						+ Settings.Profiler.WARN_MS_PER_TICK + " ms budget. Costs: " + describe(sections));
+			}
+		}
+	}
+
+	/**
+	 * Summarize the last minute of every arena, most expensive first
+	 *
+	 * @return
+	 */
+	public List<Report> getReports() {
+		final long currentSecond = System.currentTimeMillis() / 1000;
+		final List<Report> reports = new ArrayList<>();
+
+		for (final ArenaCost cost : costs.values()) {
+			final long[] total = new long[Section.values().length];
+			long peakSecond = 0;
+
+			for (long second = currentSecond - WINDOW_SECONDS; second < currentSecond; second++) {
+				final long[] sections = cost.getSecond(second);
+
+				if (sections == null)
+					continue;
+
+				for (int i = 0; i < sections.length; i++)
+					total[i] += sections[i];
+
+				peakSecond = Math.max(peakSecond, sum(sections));
+			}
+
+			final long totalNanos = sum(total);
+
+			if (totalNanos > 0)
+				reports.add(new Report(cost.name, totalNanos / 1_000_000D / (WINDOW_SECONDS * 20), peakSecond / 1_000_000D / 20, describe(total)));
+		}
+
+		reports.sort((first, second) -> Double.compare(second.getAverageMillisPerTick(), first.getAverageMillisPerTick()));
+
+		return Collections.unmodifiableList(reports);
+	}
+
+	/*
+	 * Add up all sections
+	 */
+	private long sum(final long[] sections) {
+		long sum = 0;
+
+		for (final long nanos : sections)
+			sum += nanos;
+
+		return sum;
+	}
+
+	/*
+	 * List non empty sections with their share of the total, most expensive first
+	 */
+	private String describe(final long[] sections) {
+		final long total = sum(sections);
+		final List<Section> ordered = new ArrayList<>();
+
+		for (final Section section : Section.values())
+			if (sections[section.ordinal()] > 0)
+				ordered.add(section);
+
+		ordered.sort((first, second) -> Long.compare(sections[second.ordinal()], sections[first.ordinal()]));
+
+		final List<String> parts = new ArrayList<>();
+
+		for (final Section section : ordered)
+			parts.add(section.getLabel() + " " + Math.round(sections[section.ordinal()] * 100D / total) + "%");
+
+		return String.join(", ", parts);
+	}
+
+	/**
+	 * What the time was spent on
+	 */
+	@RequiredArgsConstructor
+	public enum Section {
+
+		/**
+		 * The arena heartbeat ticking each second
+		 */
+		HEARTBEAT("heartbeat"),
+
+		/**
+		 * Rendering scoreboard variables
+		 */
+		SCOREBOARD("scoreboard"),
+
+		/**
+		 * Arena callbacks from our listener such as onPvP or onDamage
+		 */
+		CALLBACKS("callbacks"),
+
+		/**
+		 * Loading arena chunks while players wait in the lobby
+		 */
+		CHUNK_PRELOAD("chunk preload"),
+
+		/**
+		 * Restoring the arena region from its WorldEdit snapshot
+		 */
+		MAP_RESTORE("map restore"),
+
+		/**
+		 * Converting and reloading chunks when the arena world is reset
+		 */
+		WORLD_RESTORE("world restore"),
+
+		/**
+		 * Removing entities when the arena stops
+		 */
+		ENTITY_CLEANUP("entity cleanup");
+
+		/**
+		 * The name shown in reports
+		 */
+		@Getter
+		private final String label;
+	}
+
+	/**
+	 * The cost of one arena during the last minute
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	public final class Report {
+
+		/**
+		 * The arena name
+		 */
+		private final String arenaName;
+
+		/**
+		 * Average milliseconds per tick over the last minute
+		 */
+		private final double averageMillisPerTick;
+
+		/**
+		 * Milliseconds per tick during the most expensive second
+		 */
+		private final double peakMillisPerTick;
+
+		/**
+		 * The sections with their share of time
+		 */
+		private final String breakdown;
+	}
+
+	/*
+	 * Nanoseconds per section for each of the last seconds of one arena
+	 */
+	private final class ArenaCost {
+
+		/**
+		 * The arena name
+		 */
+		private final String name;
+
+		/**
+		 * Nanoseconds per section, indexed by the second modulo the window
+		 */
+		private final long[][] nanos = new long[WINDOW_SECONDS][Section.values().length];
+
+		/**
+		 * The second each row holds, -1 if empty
+		 */
+		private final long[] seconds = new long[WINDOW_SECONDS];
+
+		/**
+		 * When we last warned about this arena
+		 */
+		private long lastWarning = 0;
+
+		private ArenaCost(final String name) {
+			this.name = name;
+
+			Arrays.fill(seconds, -1);
+		}
+
+		/*
+		 * Add the time to the section of the given second
+		 */
+		private void record(final Section section, final long nanos, final long second) {
+			final int row = (int) (second % WINDOW_SECONDS);
+
+			if (seconds[row] != second) {
+				Arrays.fill(this.nanos[row], 0);
+
+				seconds[row] = second;
+			}
+
+			this.nanos[row][section.ordinal()] += nanos;
+		}
+
+		/*
+		 * Return nanoseconds per section of the given second, or null if nothing was recorded then
+		 */
+		private long[] getSecond(final long second) {
+			final int row = (int) (second % WINDOW_SECONDS);
+
+			return seconds[row] == second ? nanos[row] : null;
+		}
+	}
+}
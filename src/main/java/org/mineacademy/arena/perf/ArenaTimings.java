@@ -0,0 +1,279 @@
+package org.mineacademy.arena.perf;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.mineacademy.arena.model.Arena;
+import org.mineacademy.fo.Common;
+import org.mineacademy.fo.plugin.SimplePlugin;
+
+import lombok.Getter;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Measures how long our event handlers and arena callbacks take.
+ *
+ * When disabled, listeners are registered the usual way and timing an arena
+ * callback costs a single field read. When enabled, listeners are registered
+ * again through our own executor and durations go to a {@link TimingHistogram}
+ * per handler, and arena callbacks are recorded separately for each arena type. Arena callbacks are also passed
+ * to the {@link ArenaProfiler} so it can tell which arena they were for.
+ */
+@UtilityClass
+public class ArenaTimings {
+
+	/**
+	 * Returned from {@link #start()} when timings are disabled
+	 */
+	private final long NOT_TIMED = 0;
+
+	/**
+	 * Are we measuring right now?
+	 */
+	@Getter
+	private volatile boolean enabled = false;
+
+	/**
+	 * Histograms by their name
+	 */
+	private final Map<String, TimingHistogram> histograms = new ConcurrentHashMap<>();
+
+	/**
+	 * Listeners we registered, so that we can unregister them on reload
+	 */
+	private final Set<Listener> registeredListeners = new LinkedHashSet<>();
+
+	/**
+	 * Start or stop measuring, recorded data is kept
+	 *
+	 * @param enabled
+	 */
+	public void setEnabled(final boolean enabled) {
+		if (ArenaTimings.enabled == enabled)
+			return;
+
+		ArenaTimings.enabled = enabled;
+
+		// Swap between plain and timed handlers
+		synchronized (registeredListeners) {
+			for (final Listener listener : registeredListeners) {
+				HandlerList.unregisterAll(listener);
+
+				register(listener);
+			}
+		}
+	}
+
+	/**
+	 * Forget all recorded data
+	 */
+	public void reset() {
+		for (final TimingHistogram histogram : histograms.values())
+			histogram.reset();
+	}
+
+	/**
+	 * Return the time to pass to the stop methods, or a marker if neither we
+	 * nor the {@link ArenaProfiler} are measuring
+	 *
+	 * @return
+	 */
+	public long start() {
+		return enabled || ArenaProfiler.isEnabled() ? System.nanoTime() : NOT_TIMED;
+	}
+
+	/**
+	 * Record the call started at the given time
+	 *
+	 * @param histogram
+	 * @param start
+	 */
+	public void stop(final TimingHistogram histogram, final long start) {
+		if (start != NOT_TIMED && enabled)
+			histogram.record(System.nanoTime() - start);
+	}
+
+	/**
+	 * Record the arena callback started at the given time under the arena type,
+	 * and attribute it to the arena in the profiler
+	 *
+	 * @param arena
+	 * @param callback
+	 * @param start
+	 */
+	public void stop(final Arena arena, final String callback, final long start) {
+		if (start == NOT_TIMED)
+			return;
+
+		final long nanos = System.nanoTime() - start;
+
+		if (enabled)
+			getHistogram(arena.getType() + " " + callback).record(nanos);
+
+		ArenaProfiler.record(arena, ArenaProfiler.Section.CALLBACKS, nanos);
+	}
+
+	/**
+	 * Return the histogram by its name, creating it if needed
+	 *
+	 * @param name
+	 * @return
+	 */
+	public TimingHistogram getHistogram(final String name) {
+		return histograms.computeIfAbsent(name, TimingHistogram::new);
+	}
+
+	/**
+	 * Return all histograms sorted by name
+	 *
+	 * @return
+	 */
+	public List<TimingHistogram> getHistograms() {
+		final List<TimingHistogram> list = new ArrayList<>(histograms.values());
+		list.sort((first, second) -> first.getName().compareTo(second.getName()));
+
+		return Collections.unmodifiableList(list);
+	}
+
+	// ------–------–------–------–------–------–------–------–------–------–------–------–
+	// Registering listeners
+	// ------–------–------–------–------–------–------–------–------–------–------–------–
+
+	/**
+	 * Register all event handlers in the listener, timing each of them when enabled
+	 *
+	 * @param listener
+	 */
+	public void registerEvents(final Listener listener) {
+		synchronized (registeredListeners) {
+			register(listener);
+
+			registeredListeners.add(listener);
+		}
+	}
+
+	/**
+	 * Unregister the listener registered through us
+	 *
+	 * @param listener
+	 */
+	public void unregisterEvents(final Listener listener) {
+		synchronized (registeredListeners) {
+			HandlerList.unregisterAll(listener);
+
+			registeredListeners.remove(listener);
+		}
+	}
+
+	/*
+	 * Register the listener plainly, or through our executor if timings are enabled
+	 */
+	private void register(final Listener listener) {
+		if (!enabled) {
+			Common.registerEvents(listener);
+
+			return;
+		}
+
+		final String listenerName = listener.getClass().getSimpleName();
+
+		for (final Method method : listener.getClass().getDeclaredMethods()) {
+			final EventHandler handler = method.getAnnotation(EventHandler.class);
+
+			if (handler == null || method.isBridge() || method.isSynthetic() || method.getParameterCount() != 1 || !Event.class.isAssignableFrom(method.getParameterTypes()[0]))
+				continue;
+
+			final Class<? extends Event> eventClass = method.getParameterTypes()[0].asSubclass(Event.class);
+			final TimingHistogram histogram = getHistogram(listenerName + " " + method.getName() + "(" + eventClass.getSimpleName() + ")");
+
+			final MethodHandle handle;
+
+			try {
+				method.setAccessible(true);
+
+				handle = MethodHandles.lookup().unreflect(method).asType(MethodType.methodType(void.class, Listener.class, Event.class));
+
+			} catch (final IllegalAccessException ex) {
+				Common.error(ex, "Failed to register " + listenerName + " " + method.getName());
+
+				continue;
+			}
+
+			Bukkit.getPluginManager().registerEvent(eventClass, listener, handler.priority(), new TimedExecutor(eventClass, handle, histogram), SimplePlugin.getInstance(), handler.ignoreCancelled());
+		}
+	}
+
+	/**
+	 * Unregister all listeners registered through us
+	 */
+	public void unregisterEvents() {
+		synchronized (registeredListeners) {
+			for (final Listener listener : registeredListeners)
+				HandlerList.unregisterAll(listener);
+
+			registeredListeners.clear();
+		}
+	}
+
+	/*
+	 * Calls one event handler method through a handle bound once, and records how long it took
+	 */
+	private final class TimedExecutor implements EventExecutor {
+
+		/**
+		 * The event the method takes, subclasses are passed through as well
+		 */
+		private final Class<? extends Event> eventClass;
+
+		/**
+		 * The handler method
+		 */
+		private final MethodHandle handle;
+
+		/**
+		 * Where we record durations
+		 */
+		private final TimingHistogram histogram;
+
+		private TimedExecutor(final Class<? extends Event> eventClass, final MethodHandle handle, final TimingHistogram histogram) {
+			this.eventClass = eventClass;
+			this.handle = handle;
+			this.histogram = histogram;
+		}
+
+		@Override
+		public void execute(final Listener listener, final Event event) throws EventException {
+			if (!eventClass.isInstance(event))
+				return;
+
+			// Handler timings are not used by the profiler, skip measuring unless enabled
+			final long start = enabled ? System.nanoTime() : NOT_TIMED;
+
+			try {
+				handle.invokeExact(listener, event);
+
+			} catch (final Throwable t) {
+				throw new EventException(t);
+
+			} finally {
+				stop(histogram, start);
+			}
+		}
+	}
+}
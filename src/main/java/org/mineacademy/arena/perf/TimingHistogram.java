@@ -0,0 +1,218 @@
+package org.mineacademy.arena.perf;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A rolling histogram of call durations that any thread can record into without locking.
+ *
+ * Durations are counted in power-of-two nanosecond buckets, kept in ten second slots
+ * covering the last five minutes. Percentiles are therefore approximate, reported as
+ * the upper bound of the bucket they fall into.
+ */
+public final class TimingHistogram {
+
+	/**
+	 * How long one slot collects samples
+	 */
+	private static final long SLOT_MILLIS = 10_000;
+
+	/**
+	 * How many slots we keep, five minutes worth
+	 */
+	private static final int SLOT_COUNT = 30;
+
+	/**
+	 * One bucket per power of two nanoseconds
+	 */
+	private static final int BUCKET_COUNT = 64;
+
+	/**
+	 * The name shown in reports
+	 */
+	@Getter
+	private final String name;
+
+	/**
+	 * The ring of slots, indexed by the slot number modulo their count
+	 */
+	private final Slot[] slots = new Slot[SLOT_COUNT];
+
+	/**
+	 * Create a new empty histogram
+	 *
+	 * @param name
+	 */
+	public TimingHistogram(final String name) {
+		this.name = name;
+
+		for (int i = 0; i < SLOT_COUNT; i++)
+			slots[i] = new Slot();
+	}
+
+	/**
+	 * Record one call that took the given time
+	 *
+	 * @param nanos
+	 */
+	public void record(final long nanos) {
+		final long number = System.currentTimeMillis() / SLOT_MILLIS;
+		final Slot slot = slots[(int) (number % SLOT_COUNT)];
+
+		slot.claim(number);
+		slot.record(Math.max(nanos, 0));
+	}
+
+	/**
+	 * Forget all recorded calls
+	 */
+	public void reset() {
+		for (final Slot slot : slots)
+			slot.claim(-1);
+	}
+
+	/**
+	 * Summarize calls recorded during the last given seconds, rounded up to whole slots
+	 *
+	 * @param seconds
+	 * @return
+	 */
+	public Snapshot snapshot(final int seconds) {
+		final long now = System.currentTimeMillis();
+		final long number = now / SLOT_MILLIS;
+		final int slotsInWindow = (int) Math.min(SLOT_COUNT, Math.max(1, (seconds * 1000L + SLOT_MILLIS - 1) / SLOT_MILLIS));
+
+		final long[] buckets = new long[BUCKET_COUNT];
+		long count = 0;
+		long max = 0;
+
+		for (int i = 0; i < slotsInWindow; i++) {
+			final Slot slot = slots[(int) ((number - i) % SLOT_COUNT)];
+
+			if (slot.number.get() != number - i)
+				continue;
+
+			for (int bucket = 0; bucket < BUCKET_COUNT; bucket++)
+				buckets[bucket] += slot.buckets.get(bucket);
+
+			count += slot.count.get();
+			max = Math.max(max, slot.max.get());
+		}
+
+		// The current slot is only partly filled
+		final double elapsedSeconds = ((slotsInWindow - 1) * SLOT_MILLIS + (now % SLOT_MILLIS)) / 1000D;
+
+		return new Snapshot(count, percentile(buckets, count, 0.5, max), percentile(buckets, count, 0.99, max), max, elapsedSeconds > 0 ? count / elapsedSeconds : 0);
+	}
+
+	/*
+	 * Return the upper bound of the bucket holding the given fraction of calls, capped at the maximum
+	 */
+	private static long percentile(final long[] buckets, final long count, final double fraction, final long max) {
+		if (count == 0)
+			return 0;
+
+		final long wanted = (long) Math.ceil(count * fraction);
+		long seen = 0;
+
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+			seen += buckets[bucket];
+
+			if (seen >= wanted)
+				return Math.min(bucket >= 62 ? Long.MAX_VALUE : (1L << (bucket + 1)) - 1, max);
+		}
+
+		return max;
+	}
+
+	/**
+	 * Calls recorded during a window
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	public static final class Snapshot {
+
+		/**
+		 * How many calls were recorded
+		 */
+		private final long count;
+
+		/**
+		 * The median call duration in nanoseconds, approximate
+		 */
+		private final long p50;
+
+		/**
+		 * The 99th percentile call duration in nanoseconds, approximate
+		 */
+		private final long p99;
+
+		/**
+		 * The longest call in nanoseconds
+		 */
+		private final long max;
+
+		/**
+		 * Calls per second
+		 */
+		private final double rate;
+	}
+
+	/*
+	 * Calls recorded during one ten second period
+	 */
+	private static final class Slot {
+
+		/**
+		 * The slot number this slot currently holds, -1 if empty
+		 */
+		private final AtomicLong number = new AtomicLong(-1);
+
+		/**
+		 * Calls per power of two bucket
+		 */
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+		/**
+		 * All calls
+		 */
+		private final AtomicLong count = new AtomicLong();
+
+		/**
+		 * The longest call
+		 */
+		private final AtomicLong max = new AtomicLong();
+
+		/*
+		 * Clear the slot if it still holds an older period. A sample recorded by
+		 * another thread right while we clear may be lost, which is fine for timings.
+		 */
+		private void claim(final long newNumber) {
+			final long oldNumber = number.get();
+
+			if (oldNumber != newNumber && number.compareAndSet(oldNumber, newNumber)) {
+				for (int bucket = 0; bucket < BUCKET_COUNT; bucket++)
+					buckets.set(bucket, 0);
+
+				count.set(0);
+				max.set(0);
+			}
+		}
+
+		/*
+		 * Count the call
+		 */
+		private void record(final long nanos) {
+			buckets.incrementAndGet(63 - Long.numberOfLeadingZeros(nanos | 1));
+			count.incrementAndGet();
+
+			long currentMax;
+
+			while (nanos > (currentMax = max.get()) && !max.compareAndSet(currentMax, nanos))
+				;
+		}
+	}
+}
@@ -34,4 +34,163 @@ public class Settings extends SimpleSettings {
 		 */
 		public static SimpleTime DELAY_BETWEEN_ARENAS = SimpleTime.from("5 seconds");
 	}
+
+	/**
+	 * The settings for keeping arenas ready to be played
+	 */
+	public static class WarmPool {
+
+		/**
+		 * How many stopped and restored arenas of each type to keep ready?
+		 */
+		public static Integer SIZE = 2;
+	}
+
+	/**
+	 * The settings for loading arena chunks while players wait in the lobby
+	 */
+	public static class ChunkPreload {
+
+		/**
+		 * How many chunks to load and pin each tick?
+		 */
+		public static Integer CHUNKS_PER_TICK = 4;
+	}
+
+	/**
+	 * The settings for starting arenas
+	 */
+	public static class Start {
+
+		/**
+		 * How many milliseconds each tick may we spend teleporting players and giving them kits on start?
+		 */
+		public static Integer TICK_BUDGET = 5;
+	}
+
+	/**
+	 * The settings for joining many players at once, such as in rotate mode
+	 */
+	public static class Join {
+
+		/**
+		 * How many milliseconds each tick may we spend joining players?
+		 */
+		public static Integer TICK_BUDGET = 5;
+	}
+
+	/**
+	 * The settings for reloading changed arena, class and team files automatically
+	 */
+	public static class HotReload {
+
+		/**
+		 * Watch the arenas, classes and teams folders and reload changed files?
+		 */
+		public static Boolean ENABLED = true;
+	}
+
+	/**
+	 * The settings for saving arena, class, team and reward files
+	 */
+	public static class Save {
+
+		/**
+		 * How long to wait after a change before writing the file, collecting other changes in the meanwhile?
+		 */
+		public static SimpleTime DELAY = SimpleTime.from("2 seconds");
+	}
+
+	/**
+	 * The settings for measuring how long our event handlers and arena callbacks take
+	 */
+	public static class Timings {
+
+		/**
+		 * Start measuring when the plugin loads? Can be toggled with /arena perf on|off
+		 */
+		public static Boolean ENABLED = false;
+	}
+
+	/**
+	 * The settings for attributing main thread time to arenas
+	 */
+	public static class Profiler {
+
+		/**
+		 * Measure how much time each arena costs? See /arena perf arenas
+		 */
+		public static Boolean ENABLED = true;
+
+		/**
+		 * Warn in the console when an arena takes more than this many milliseconds per tick during a second
+		 */
+		public static Double WARN_MS_PER_TICK = 2.5;
+	}
+
+	/**
+	 * The settings for playing scripted matches with bots, see /arena perf drive
+	 */
+	public static class LoadTest {
+
+		/**
+		 * Allow load tests? Only enable this on test servers, load tests make bots join arenas and kill them.
+		 */
+		public static Boolean ENABLED = false;
+
+		/**
+		 * Only online players whose name starts with this are driven, such as bots connected by a load test client
+		 */
+		public static String BOT_PREFIX = "Bot_";
+	}
+
+	/**
+	 * The settings for exporting arena statistics in the Prometheus text format
+	 */
+	public static class Metrics {
+
+		/**
+		 * Collect and export metrics?
+		 */
+		public static Boolean ENABLED = false;
+
+		/**
+		 * The port to serve metrics on at http://127.0.0.1:PORT/metrics, only reachable
+		 * from this machine. Set to 0 to not serve them over HTTP.
+		 */
+		public static Integer PORT = 9940;
+
+		/**
+		 * Also write metrics to metrics.prom in the plugin folder every 15 seconds,
+		 * for example for the node exporter textfile collector?
+		 */
+		public static Boolean FILE = false;
+	}
+
+	/**
+	 * The settings for the match event journal in the journal/ folder
+	 */
+	public static class Journal {
+
+		/**
+		 * Record joins, leaves, kills, crystal hits, waves, purchases and rewards?
+		 */
+		public static Boolean ENABLED = false;
+
+		/**
+		 * How many events can wait in memory for the disk before new ones are dropped?
+		 */
+		public static Integer BUFFER_SIZE = 16384;
+	}
+
+	/**
+	 * The settings for /arena top
+	 */
+	public static class Leaderboard {
+
+		/**
+		 * How many of the best players to show on each leaderboard? Twice as many are kept to fill places.
+		 */
+		public static Integer SIZE = 100;
+	}
 }
@@ -6,49 +6,70 @@ import org.bukkit.scheduler.BukkitRunnable;
 import org.mineacademy.arena.model.Arena;
 import org.mineacademy.arena.model.ArenaJoinMode;
 import org.mineacademy.arena.model.ArenaLeaveReason;
+import org.mineacademy.arena.model.ArenaManager;
 import org.mineacademy.arena.model.ArenaPlayer;
+import org.mineacademy.arena.model.ArenaRegionBounds;
 import org.mineacademy.arena.util.Constants;
 import org.mineacademy.fo.Common;
-import org.mineacademy.fo.region.Region;
 import org.mineacademy.fo.remain.CompMetadata;
-import org.mineacademy.fo.remain.Remain;
 
 /**
- * A repeating task kicking players who left the arena region while playing
+ * A repeating task kicking players who left the arena region while playing.
+ *
+ * Escapes are caught right away when players move, see {@link #checkEscape(Player, Location)},
+ * so this only runs rarely to catch what slips through, such as players pushed by plugins.
  */
 public class EscapeTask extends BukkitRunnable {
 
+	/**
+	 * How often we check all arena players, in ticks
+	 */
+	public static final int PERIOD_TICKS = 5 * 20;
+
 	@Override
 	public void run() {
 
 		try {
-			// Scan through all players using remain compatible method
-			for (final Player player : Remain.getOnlinePlayers()) {
+			// Only scan players in played arenas, the rest of the server cannot escape
+			for (final Arena arena : ArenaManager.getArenas())
+				if (arena.isPlayed())
+					for (final Player player : arena.getPlayersInAllModes())
+						checkEscape(player, player.getLocation());
 
-				final Location location = player.getLocation();
+		} catch (final Throwable t) {
+			Common.error(t, "Error checking for player escape");
+		}
+	}
 
-				// Ignore falling to void
-				if (location.getY() < 0)
-					continue;
+	/**
+	 * Kick the player from his arena if he is playing and the location is outside of its region
+	 *
+	 * @param player
+	 * @param location
+	 */
+	public static void checkEscape(final Player player, final Location location) {
 
-				// Ignore if has a tag
-				if (CompMetadata.hasTempMetadata(player, Constants.Tag.TELEPORT_EXEMPTION))
-					continue;
+		// Ignore falling to void
+		if (location.getY() < 0)
+			return;
 
-				final ArenaPlayer cache = ArenaPlayer.getCache(player);
+		final ArenaPlayer cache = ArenaPlayer.getCache(player);
 
-				// Enable leaving region while editing
-				if (cache.hasArena() && !cache.isLeavingArena() && cache.getMode() != ArenaJoinMode.EDITING) {
-					final Arena arena = cache.getArena();
-					final Region region = arena.getSettings().getRegion();
+		// Enable leaving region while editing
+		if (!cache.hasArena() || cache.isLeavingArena() || cache.getMode() == ArenaJoinMode.EDITING)
+			return;
 
-					// Ignore dead players and when arena is stopping
-					if (!player.isDead() && !arena.isStopping() && !arena.isStarting() && arena.isPlayed() && !region.isWithin(player.getLocation()))
-						arena.leavePlayer(player, ArenaLeaveReason.ESCAPE);
-				}
-			}
-		} catch (final Throwable t) {
-			Common.error(t, "Error checking for player escape");
-		}
+		final Arena arena = cache.getArena();
+		final ArenaRegionBounds bounds = arena.getRegionBounds();
+
+		// Ignore dead players and when arena is stopping
+		if (bounds == null || player.isDead() || arena.isStopping() || arena.isStarting() || !arena.isPlayed() || bounds.contains(location))
+			return;
+
+		// Ignore if has a tag
+		if (CompMetadata.hasTempMetadata(player, Constants.Tag.TELEPORT_EXEMPTION))
+			return;
+
+		arena.leavePlayer(player, ArenaLeaveReason.ESCAPE);
 	}
 }